@@ -0,0 +1,281 @@
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Baby-step/giant-step discrete log for small exponents: finds m ∈ [0, maxPlaintext] with g^m = h mod p.
+// Baby steps g^0 .. g^(n−1) are stored once per group as (low 64 bits → j) in an open-addressed hash table
+// outside the Java heap: memory-mapped next to the group cache only when an ELGamalGroupStore cache directory was
+// set explicitly (elgamal.groups.dir or setCacheDirectory), a direct buffer otherwise, so nothing lands on disk unasked. A lookup then walks h, h·g^−n, h·g^−2n ... (one Montgomery multiplication each)
+// until a step hits the table: at most ⌈(maxPlaintext + 1) / n⌉ steps.
+//
+// Layout (little-endian): header | keys long[capacity] | values int[capacity], value = j + 1 (0 = empty slot)
+public class DiscreteLogTable {
+    public static final long MAX_BABY_STEPS = 1L << 26;          // Capacity 2^27: 1.5 GiB, the limit of one mapped buffer
+    private static final long DEFAULT_MAX_BABY_STEPS = 1L << 22; // 96 MiB table by default
+    private static final long TARGET_GIANT_STEPS = 1024;         // ~1-3 ms per lookup at 2048 bits
+    private static final int MAGIC = 0x474F4C44;                 // "DLOG"
+    private static final int VERSION = 1;
+    private static final int HEADER = 64;                        // magic, version, babySteps, capacity, SHA-256(p, g)
+    private static final int BUILD_CHUNK = 1 << 14;
+    private static final Map<String, ByteBuffer> TABLES = new ConcurrentHashMap<>();   // One per (p, g, babySteps), shared by all ranges
+    private static final Set<String> FILE_BACKED = ConcurrentHashMap.newKeySet();         // Ids whose buffer maps a table file
+    private static final System.Logger LOG = System.getLogger(DiscreteLogTable.class.getName());
+
+    private final BigInteger primeP;
+    private final BigInteger generatorG;
+    private final long maxPlaintext;
+    private final int babySteps;
+    private final long giantSteps;
+    private final int capacity;
+    private final int slotShift;       // 64 − log2(capacity)
+    private final ByteBuffer table;
+    private final long valuesOffset;
+    private final BigInteger giantFactorR;   // g^−n in Montgomery form: one REDC multiplies by g^−n
+
+    private DiscreteLogTable(BigInteger p, BigInteger g, long maxPlaintext, int babySteps, ByteBuffer table) {
+        this.primeP = p;
+        this.generatorG = g;
+        this.maxPlaintext = maxPlaintext;
+        this.babySteps = babySteps;
+        this.giantSteps = (maxPlaintext + babySteps) / babySteps;   // ⌈(maxPlaintext + 1) / n⌉
+        this.capacity = capacityFor(babySteps);
+        this.slotShift = 64 - Integer.numberOfTrailingZeros(capacity);
+        this.table = table;
+        this.valuesOffset = HEADER + 8L * capacity;
+        int limbs = (p.bitLength() + 63) >>> 6;
+        BigInteger r = BigInteger.ONE.shiftLeft(64 * limbs);
+        this.giantFactorR = g.modPow(BigInteger.valueOf(babySteps), p).modInverse(p).multiply(r).mod(p);
+    }
+
+    // Table for a group and plaintext range, built once per process and, with a group cache directory, once per machine.
+    // Instances are cheap views: ranges with the same baby-step count share one buffer.
+    public static DiscreteLogTable forGroup(ELGamalGroup group, long maxPlaintext) {
+        return forGroup(group.get_primeP(), group.get_generatorG(), maxPlaintext, defaultBabySteps(maxPlaintext));
+    }
+
+    // babySteps trades memory (12 bytes × 2 per step) for lookup time (one multiplication per (maxPlaintext + 1) / babySteps)
+    public static DiscreteLogTable forGroup(BigInteger p, BigInteger g, long maxPlaintext, long babySteps) {
+        if (maxPlaintext < 0) {
+            throw new IllegalArgumentException("Error: plaintext range must be >= 0 → " + maxPlaintext);
+        }
+        if (babySteps < 1 || babySteps > MAX_BABY_STEPS) {
+            throw new IllegalArgumentException("Error: baby steps must be in [1, " + MAX_BABY_STEPS + "] → " + babySteps);
+        }
+        ELGamalExponential.requirePrimeOrder(p, g);
+        String id = tableId(p, g, (int) babySteps);
+        ByteBuffer table = TABLES.computeIfAbsent(id, key -> open(p, g, (int) babySteps, key));
+        return new DiscreteLogTable(p, g, maxPlaintext, (int) babySteps, table);
+    }
+
+    // Enough baby steps for ~1024 giant steps, never fewer than √range, within the default memory cap
+    public static long defaultBabySteps(long maxPlaintext) {
+        long range = maxPlaintext + 1;
+        long sqrt = (long) Math.ceil(Math.sqrt((double) range));
+        long forTarget = (range + TARGET_GIANT_STEPS - 1) / TARGET_GIANT_STEPS;
+        return Math.max(1, Math.min(DEFAULT_MAX_BABY_STEPS, Math.max(sqrt, forTarget)));
+    }
+
+    public static long tableBytes(long babySteps) {
+        return HEADER + 12L * capacityFor(babySteps);
+    }
+
+    // m with g^m = h mod p and 0 <= m <= maxPlaintext, or −1 if there is none
+    public long log(BigInteger h) {
+        MontgomeryContext context = new MontgomeryContext(primeP);
+        long[] gamma = MontgomeryContext.toLimbs(h.mod(primeP), context.limbs());
+        long[] factor = MontgomeryContext.toLimbs(giantFactorR, context.limbs());
+        for (long i = 0; i < giantSteps; i++) {
+            long fingerprint = gamma[0];
+            for (int slot = slot(fingerprint); ; slot = (slot + 1) & (capacity - 1)) {
+                int value = table.getInt((int) (valuesOffset + 4L * slot));
+                if (value == 0) break;                                             // Not a baby step
+                if (table.getLong(HEADER + 8 * slot) != fingerprint) continue;
+                long candidate = i * babySteps + (value - 1);
+                // 64-bit fingerprints: confirm, since another element may share the low limb
+                if (candidate <= maxPlaintext && generatorG.modPow(BigInteger.valueOf(candidate), primeP).equals(h.mod(primeP))) {
+                    return candidate;
+                }
+            }
+            context.montgomeryMultiply(gamma, factor, gamma);                      // γ = γ · g^−n mod p
+        }
+        return -1;
+    }
+
+    public BigInteger get_primeP() {
+        return primeP;
+    }
+    public BigInteger get_generatorG() {
+        return generatorG;
+    }
+    public long get_maxPlaintext() {
+        return maxPlaintext;
+    }
+    public int get_babySteps() {
+        return babySteps;
+    }
+    public long get_giantSteps() {
+        return giantSteps;
+    }
+    // Direct buffers are MappedByteBuffers too, so the type cannot tell a table file from memory
+    public boolean isMapped() {
+        return FILE_BACKED.contains(tableId(primeP, generatorG, babySteps));
+    }
+
+    private int slot(long fingerprint) {
+        return (int) ((fingerprint * 0x9E3779B97F4A7C15L) >>> slotShift);        // Fibonacci hashing on the top bits
+    }
+
+    private static int capacityFor(long babySteps) {
+        return Integer.highestOneBit((int) Math.max(1, babySteps - 1)) << 2;       // Power of two, load factor <= 1/2
+    }
+
+    // Mapped file if a group cache directory was set and the file is valid; otherwise build (and save when possible)
+    private static ByteBuffer open(BigInteger p, BigInteger g, int babySteps, String id) {
+        Path directory = ELGamalGroupStore.getCacheDirectory();
+        if (directory == null) {
+            return build(p, g, babySteps, ByteBuffer.allocateDirect(Math.toIntExact(tableBytes(babySteps))));
+        }
+        Path file = directory.resolve(id + ".table");
+        if (Files.isRegularFile(file)) {
+            try {
+                ByteBuffer mapped = map(file, FileChannel.MapMode.READ_ONLY);
+                if (valid(mapped, p, g, babySteps)) {
+                    FILE_BACKED.add(id);
+                    return mapped;
+                }
+            } catch (IOException e) {
+                LOG.log(System.Logger.Level.WARNING, "Ignoring unreadable discrete-log table " + file, e);
+            }
+        }
+        try {
+            Files.createDirectories(directory);
+            // Build into a temp file, then rename, so a concurrent reader never maps half a table
+            Path temp = Files.createTempFile(directory, "dlog-", ".tmp");
+            try {
+                long bytes = tableBytes(babySteps);
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                    build(p, g, babySteps, buffer);
+                    buffer.force();
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            ByteBuffer mapped = map(file, FileChannel.MapMode.READ_ONLY);
+            FILE_BACKED.add(id);
+            return mapped;
+        } catch (IOException e) {
+            LOG.log(System.Logger.Level.WARNING, "Could not store discrete-log table in " + directory, e);
+            return build(p, g, babySteps, ByteBuffer.allocateDirect(Math.toIntExact(tableBytes(babySteps))));
+        }
+    }
+
+    private static ByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(mode, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private static boolean valid(ByteBuffer buffer, BigInteger p, BigInteger g, int babySteps) {
+        if (buffer.capacity() != tableBytes(babySteps)) return false;
+        byte[] digest = new byte[32];
+        buffer.get(16, digest);
+        return buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION && buffer.getInt(8) == babySteps
+                && buffer.getInt(12) == capacityFor(babySteps) && Arrays.equals(digest, groupDigest(p, g));
+    }
+
+    // Baby steps are computed in parallel chunks (each from its own g^start), then inserted on one thread
+    private static ByteBuffer build(BigInteger p, BigInteger g, int babySteps, ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        long[] fingerprints = new long[babySteps];
+        ForkJoinPool.commonPool().invoke(new BabySteps(p, g, fingerprints, 0, babySteps));
+
+        int capacity = capacityFor(babySteps);
+        int shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        long valuesOffset = HEADER + 8L * capacity;
+        for (int j = 0; j < babySteps; j++) {
+            long fingerprint = fingerprints[j];
+            int slot = (int) ((fingerprint * 0x9E3779B97F4A7C15L) >>> shift);
+            while (buffer.getInt((int) (valuesOffset + 4L * slot)) != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            buffer.putLong(HEADER + 8 * slot, fingerprint);
+            buffer.putInt((int) (valuesOffset + 4L * slot), j + 1);
+        }
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, babySteps).putInt(12, capacity).put(16, groupDigest(p, g));
+        return buffer;
+    }
+
+    private static final class BabySteps extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger p;
+        private final BigInteger g;
+        private final long[] fingerprints;
+        private final int from;
+        private final int to;
+
+        BabySteps(BigInteger p, BigInteger g, long[] fingerprints, int from, int to) {
+            this.p = p;
+            this.g = g;
+            this.fingerprints = fingerprints;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BUILD_CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BabySteps(p, g, fingerprints, from, middle), new BabySteps(p, g, fingerprints, middle, to));
+                return;
+            }
+            MontgomeryContext context = new MontgomeryContext(p);               // Holds scratch: one per task
+            int limbs = context.limbs();
+            long[] current = MontgomeryContext.toLimbs(g.modPow(BigInteger.valueOf(from), p), limbs);
+            long[] stepR = MontgomeryContext.toLimbs(g.shiftLeft(64 * limbs).mod(p), limbs);   // g·R: REDC(x, g·R) = x·g
+            for (int j = from; j < to; j++) {
+                fingerprints[j] = current[0];
+                context.montgomeryMultiply(current, stepR, current);
+            }
+        }
+    }
+
+    private static String tableId(BigInteger p, BigInteger g, int babySteps) {
+        byte[] digest = groupDigest(p, g);
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            hex.append(String.format("%02x", digest[i]));
+        }
+        return "dlog-" + p.bitLength() + "-" + hex + "-" + babySteps;
+    }
+
+    private static byte[] groupDigest(BigInteger p, BigInteger g) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(p.toByteArray());
+            sha256.update((byte) 0);
+            sha256.update(g.toString(16).getBytes(StandardCharsets.US_ASCII));
+            return sha256.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform.", e);
+        }
+    }
+}
@@ -1,22 +1,45 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 public class ELGamalEncryptor {
+    private static final CryptoMetrics.Operation ENCRYPT = CryptoMetrics.operation("encrypt", "ElGamal-manual");
+    private static final CryptoMetrics.Operation DECRYPT = CryptoMetrics.operation("decrypt", "ElGamal-manual");
 
     public static BigInteger[] encrypt (BigInteger plaintext, BigInteger p, BigInteger g, BigInteger y) {
+        long start = System.nanoTime();
+        BigInteger[] pair = ephemeralPair(p, g, y);
+        BigInteger a = pair[0];                             // a = g^k mod p
+        BigInteger b = plaintext.multiply(pair[1]);           // b = m × y^k mod p
+        b = b.mod(p);                                       // ensure b is in the group
+
+        ENCRYPT.record(p.bitLength(), start);
+        return new BigInteger[] {a, b};
+    }
+
+    // Single-use (g^k, y^k) for a fresh random k: all the expensive work of encrypt
+    public static BigInteger[] ephemeralPair(BigInteger p, BigInteger g, BigInteger y) {
+        BigInteger k = randomEphemeral(p);
+        return new BigInteger[] {g.modPow(k, p), y.modPow(k, p)};
+    }
+
+    public static BigInteger randomEphemeral(BigInteger p) {
         // random k ∈ [1, p−2]
-        BigInteger k = new BigInteger(ELGamalGenerator.get_bitLength() -2, ELGamalGenerator.get_random());
+        BigInteger k = new BigInteger(p.bitLength() -2, ELGamalGenerator.get_random());
         // Ensure k is >1 and <p-2
         while (k.compareTo(BigInteger.ONE) < 0 || k.compareTo(p.subtract(BigInteger.TWO)) > 0) {
-            k = new BigInteger(ELGamalGenerator.get_bitLength() -2, ELGamalGenerator.get_random());
+            k = new BigInteger(p.bitLength() -2, ELGamalGenerator.get_random());
         }
-        BigInteger a = g.modPow(k, p);                      // a = g^k mod p
-        BigInteger b = plaintext.multiply(y.modPow(k, p));    // b = m × y^k mod p
-        b = b.mod(p);                                       // ensure b is in the group
-
-        return new BigInteger[] {a, b};
+        return k;
     }
 
     public static BigInteger decrypt(BigInteger[] ciphertext, BigInteger p, BigInteger x) {
+        long start = System.nanoTime();
         BigInteger a = ciphertext[0];
         BigInteger b = ciphertext[1];
 
@@ -26,7 +49,72 @@ public class ELGamalEncryptor {
         BigInteger s_1 = s.modInverse(p);
 
         // Get original Message: m = b × s⁻¹ mod p
-        return b.multiply(s_1).mod(p);
+        BigInteger message = b.multiply(s_1).mod(p);
+        DECRYPT.record(p.bitLength(), start);
+        return message;
+    }
+
+    // Batch entry points: spread over a fork-join pool, results in input order
+    public static List<BigInteger[]> encryptBatch(List<BigInteger> plaintexts, BigInteger p, BigInteger g, BigInteger y, ForkJoinPool pool) {
+        // Two full-size exponentiations per message
+        long nanos = 2 * ParallelBatch.modPowNanos(p.bitLength(), p.bitLength());
+        int chunk = ParallelBatch.chunkSize(plaintexts.size(), pool.getParallelism(), nanos);
+        return ParallelBatch.map(plaintexts, plaintext -> encrypt(plaintext, p, g, y), pool, chunk);
+    }
+
+    public static List<BigInteger[]> encryptBatch(List<BigInteger> plaintexts, BigInteger p, BigInteger g, BigInteger y) {
+        return encryptBatch(plaintexts, p, g, y, ForkJoinPool.commonPool());
+    }
+
+    public static BigInteger[][] encryptBatch(BigInteger[] plaintexts, BigInteger p, BigInteger g, BigInteger y) {
+        return encryptBatch(Arrays.asList(plaintexts), p, g, y).toArray(new BigInteger[0][]);
+    }
+
+    public static List<BigInteger> decryptBatch(List<BigInteger[]> ciphertexts, BigInteger p, BigInteger x, ForkJoinPool pool) {
+        long nanos = ParallelBatch.modPowNanos(p.bitLength(), x.bitLength());
+        int chunk = ParallelBatch.chunkSize(ciphertexts.size(), pool.getParallelism(), nanos);
+        return ParallelBatch.map(ciphertexts, ciphertext -> decrypt(ciphertext, p, x), pool, chunk);
+    }
+
+    public static List<BigInteger> decryptBatch(List<BigInteger[]> ciphertexts, BigInteger p, BigInteger x) {
+        return decryptBatch(ciphertexts, p, x, ForkJoinPool.commonPool());
+    }
+
+    public static BigInteger[] decryptBatch(BigInteger[][] ciphertexts, BigInteger p, BigInteger x) {
+        return decryptBatch(Arrays.asList(ciphertexts), p, x).toArray(new BigInteger[0]);
+    }
+
+    // Streaming mode for messages larger than p: (k − 2)-byte blocks in, a || b (2k bytes) out (k = bytes of p), see BlockStream
+    public static void encryptStream(InputStream in, OutputStream out, BigInteger p, BigInteger g, BigInteger y,
+                                     ExecutorService pool, int readAhead) throws IOException {
+        int width = BlockStream.modulusBytes(p);
+        BlockStream.encrypt(in, out, width - 2, block -> {
+            BigInteger[] ciphertext = encrypt(BlockStream.encode(block), p, g, y);
+            byte[] pair = new byte[2 * width];
+            System.arraycopy(BlockStream.toFixedWidth(ciphertext[0], width), 0, pair, 0, width);
+            System.arraycopy(BlockStream.toFixedWidth(ciphertext[1], width), 0, pair, width, width);
+            return pair;
+        }, pool, readAhead);
+    }
+
+    public static void encryptStream(InputStream in, OutputStream out, BigInteger p, BigInteger g, BigInteger y) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        encryptStream(in, out, p, g, y, pool, 4 * pool.getParallelism());
+    }
+
+    public static void decryptStream(InputStream in, OutputStream out, BigInteger p, BigInteger x,
+                                     ExecutorService pool, int readAhead) throws IOException {
+        int width = BlockStream.modulusBytes(p);
+        BlockStream.decrypt(in, out, 2 * width, pair -> {
+            BigInteger a = new BigInteger(1, Arrays.copyOfRange(pair, 0, width));
+            BigInteger b = new BigInteger(1, Arrays.copyOfRange(pair, width, 2 * width));
+            return BlockStream.decode(decrypt(new BigInteger[] {a, b}, p, x), width - 2);
+        }, pool, readAhead);
+    }
+
+    public static void decryptStream(InputStream in, OutputStream out, BigInteger p, BigInteger x) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        decryptStream(in, out, p, x, pool, 4 * pool.getParallelism());
     }
 
     public static BigInteger stringToBigInt(String text) {
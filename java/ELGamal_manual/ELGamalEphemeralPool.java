@@ -0,0 +1,141 @@
+import java.math.BigInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Background workers keep a bounded queue of single-use (g^k, y^k) pairs for one public key,
+// so encrypt on the request path is a single modular multiply. Falls back to inline work when empty.
+public class ELGamalEphemeralPool implements AutoCloseable {
+    private final BigInteger primeP;
+    private final Supplier<BigInteger[]> producer;
+    private final BlockingQueue<BigInteger[]> pairs;
+    private final int lowWatermark;
+    private final ExecutorService workers;
+    private final Object refill = new Object();
+    private volatile boolean closed;
+
+    // Metrics
+    private final LongAdder hits = new LongAdder();        // encrypts served from the pool
+    private final LongAdder misses = new LongAdder();      // encrypts computed inline (pool empty)
+    private final LongAdder produced = new LongAdder();    // pairs made by the workers
+    private final LongAdder refills = new LongAdder();     // refill cycles started by workers (pool below low watermark)
+    private final LongAdder refillNanos = new LongAdder(); // worker time spent producing pairs
+
+    public ELGamalEphemeralPool(ELGamalKeyPair keyPair, int highWatermark, int lowWatermark, int threads) {
+        this(keyPair.get_primeP(),
+                () -> ELGamalEncryptor.ephemeralPair(keyPair.get_primeP(), keyPair.get_generatorG(), keyPair.get_publicKeyY()),
+                highWatermark, lowWatermark, threads);
+    }
+
+    // Workers use the fixed-base tables of the precomputed encryptor
+    public ELGamalEphemeralPool(ELGamalPrecomputedEncryptor encryptor, int highWatermark, int lowWatermark, int threads) {
+        this(encryptor.get_keyPair().get_primeP(), encryptor::ephemeralPair, highWatermark, lowWatermark, threads);
+    }
+
+    private ELGamalEphemeralPool(BigInteger p, Supplier<BigInteger[]> producer, int highWatermark, int lowWatermark, int threads) {
+        // low = 0 would never trigger a refill: the queue cannot fall below 0
+        if (lowWatermark < 1 || lowWatermark > highWatermark || threads < 1) {
+            throw new IllegalArgumentException("Error: need 1 <= low <= high and threads >= 1 → low=" + lowWatermark + ", high=" + highWatermark + ", threads=" + threads);
+        }
+        this.primeP = p;
+        this.producer = producer;
+        this.pairs = new ArrayBlockingQueue<>(highWatermark);
+        this.lowWatermark = lowWatermark;
+
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "elgamal-ephemeral-" + count.incrementAndGet());
+            thread.setDaemon(true);                         // Never keeps the JVM alive
+            thread.setPriority(Thread.NORM_PRIORITY - 1);   // Request threads go first
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::fill);
+        }
+    }
+
+    public BigInteger[] encrypt(BigInteger plaintext) {
+        BigInteger[] pair = pairs.poll();
+        if (pair == null) {
+            misses.increment();
+            pair = producer.get();   // Pool ran dry: same work as the plain encrypt
+        } else {
+            hits.increment();
+        }
+        if (pairs.size() < lowWatermark) {
+            synchronized (refill) {
+                refill.notifyAll();
+            }
+        }
+        BigInteger a = pair[0];                                 // a = g^k mod p
+        BigInteger b = plaintext.multiply(pair[1]).mod(primeP);   // b = m × y^k mod p
+
+        return new BigInteger[] {a, b};
+    }
+
+    private void fill() {
+        try {
+            while (!closed) {
+                // Top up to the high watermark
+                while (!closed && pairs.remainingCapacity() > 0) {
+                    long start = System.nanoTime();
+                    BigInteger[] pair = producer.get();
+                    refillNanos.add(System.nanoTime() - start);
+                    if (!pairs.offer(pair)) break;   // Another worker filled the last slot
+                    if (closed) {
+                        pairs.clear();               // Raced with close(): drop the pair just offered
+                        break;
+                    }
+                    produced.increment();
+                }
+                // Full: sleep until encrypts drain the pool below the low watermark
+                synchronized (refill) {
+                    while (!closed && pairs.size() >= lowWatermark) {
+                        refill.wait();
+                    }
+                }
+                if (!closed) refills.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (refill) {
+            refill.notifyAll();
+        }
+        workers.shutdownNow();
+        pairs.clear();   // Unused ephemerals must not outlive the pool
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    public int get_size() {
+        return pairs.size();
+    }
+    public long get_hits() {
+        return hits.sum();
+    }
+    public long get_misses() {
+        return misses.sum();
+    }
+    public long get_produced() {
+        return produced.sum();
+    }
+    public long get_refills() {
+        return refills.sum();
+    }
+    public long get_refillNanos() {
+        return refillNanos.sum();
+    }
+}
@@ -0,0 +1,133 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Additively homomorphic ("exponential") ElGamal: encrypt g^m instead of m, so that multiplying two ciphertexts
+// component-wise encrypts the sum of their plaintexts. Decryption recovers g^m and then needs a discrete log,
+// which is only practical for small sums: see DiscreteLogTable.
+// g must have prime order q: with a generator of order 2q, the Legendre symbols of a, b and y reveal m mod 2.
+public class ELGamalExponential {
+    private static final Set<List<BigInteger>> CHECKED_GROUPS = ConcurrentHashMap.newKeySet();
+    private static final CryptoMetrics.Operation AGGREGATE = CryptoMetrics.operation("aggregate", "ElGamal-exponential");
+    private static final CryptoMetrics.Operation LOG = CryptoMetrics.operation("discrete-log", "ElGamal-exponential");
+
+    public static BigInteger[] encrypt(long m, BigInteger p, BigInteger g, BigInteger y) {
+        if (m < 0) {
+            throw new IllegalArgumentException("Error: plaintext must be >= 0 → " + m);
+        }
+        requirePrimeOrder(p, g);
+        return ELGamalEncryptor.encrypt(g.modPow(BigInteger.valueOf(m), p), p, g, y);
+    }
+
+    public static List<BigInteger[]> encryptBatch(List<Long> plaintexts, BigInteger p, BigInteger g, BigInteger y, ForkJoinPool pool) {
+        long nanos = 2 * ParallelBatch.modPowNanos(p.bitLength(), p.bitLength());
+        int chunk = ParallelBatch.chunkSize(plaintexts.size(), pool.getParallelism(), nanos);
+        return ParallelBatch.map(plaintexts, m -> encrypt(m, p, g, y), pool, chunk);
+    }
+
+    public static List<BigInteger[]> encryptBatch(List<Long> plaintexts, BigInteger p, BigInteger g, BigInteger y) {
+        return encryptBatch(plaintexts, p, g, y, ForkJoinPool.commonPool());
+    }
+
+    // E(m1) ⊗ E(m2) = (a1·a2, b1·b2) = E(m1 + m2)
+    public static BigInteger[] add(BigInteger[] c1, BigInteger[] c2, BigInteger p) {
+        return new BigInteger[] {c1[0].multiply(c2[0]).mod(p), c1[1].multiply(c2[1]).mod(p)};
+    }
+
+    // Product of all ciphertexts, i.e. the encrypted sum, as a parallel tree reduction
+    public static BigInteger[] aggregate(List<BigInteger[]> ciphertexts, BigInteger p, ForkJoinPool pool) {
+        if (ciphertexts.isEmpty()) {
+            return new BigInteger[] {BigInteger.ONE, BigInteger.ONE};    // E(0) with k = 0
+        }
+        long start = System.nanoTime();
+        // Two Montgomery multiplications per ciphertext
+        long nanos = 2 * ParallelBatch.modPowNanos(p.bitLength(), 1);
+        int chunk = Math.max(2, ParallelBatch.chunkSize(ciphertexts.size(), pool.getParallelism(), nanos));
+        BigInteger[] sum = pool.invoke(new Product(ciphertexts, p, 0, ciphertexts.size(), chunk));
+        AGGREGATE.record(p.bitLength(), start);
+        return sum;
+    }
+
+    public static BigInteger[] aggregate(List<BigInteger[]> ciphertexts, BigInteger p) {
+        return aggregate(ciphertexts, p, ForkJoinPool.commonPool());
+    }
+
+    public static BigInteger[] aggregate(BigInteger[][] ciphertexts, BigInteger p) {
+        return aggregate(Arrays.asList(ciphertexts), p);
+    }
+
+    // The table bounds the answer: a sum above its range is an error, not a wrong number
+    public static long decrypt(BigInteger[] ciphertext, BigInteger p, BigInteger x, DiscreteLogTable table) {
+        if (!table.get_primeP().equals(p)) {
+            throw new IllegalArgumentException("Error: discrete-log table belongs to another group → " + table.get_primeP().bitLength() + " bits");
+        }
+        BigInteger gm = ELGamalEncryptor.decrypt(ciphertext, p, x);
+        long start = System.nanoTime();
+        long m = table.log(gm);
+        LOG.record(p.bitLength(), start);
+        if (m < 0) {
+            throw new IllegalArgumentException("Error: plaintext outside [0, " + table.get_maxPlaintext() + "] → no discrete log");
+        }
+        return m;
+    }
+
+    // One modPow per group, not per message
+    static void requirePrimeOrder(BigInteger p, BigInteger g) {
+        if (CHECKED_GROUPS.contains(List.of(p, g))) {
+            return;
+        }
+        if (!ELGamalGroup.isPrimeOrderGenerator(p, g)) {
+            throw new IllegalArgumentException("Error: generator does not have prime order (p − 1)/2 → g = " + g);
+        }
+        CHECKED_GROUPS.add(List.of(p, g));
+    }
+
+    private static final class Product extends RecursiveTask<BigInteger[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<BigInteger[]> ciphertexts;
+        private final BigInteger p;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        Product(List<BigInteger[]> ciphertexts, BigInteger p, int from, int to, int chunkSize) {
+            this.ciphertexts = ciphertexts;
+            this.p = p;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected BigInteger[] compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                Product left = new Product(ciphertexts, p, from, middle, chunkSize);
+                left.fork();
+                BigInteger[] right = new Product(ciphertexts, p, middle, to, chunkSize).compute();
+                return add(left.join(), right, p);
+            }
+            // Each REDC leaves a factor R^−1: n − 1 products carry R^−(n−1), removed once at the end
+            MontgomeryContext context = new MontgomeryContext(p);
+            long[] a = MontgomeryContext.toLimbs(ciphertexts.get(from)[0], context.limbs());
+            long[] b = MontgomeryContext.toLimbs(ciphertexts.get(from)[1], context.limbs());
+            long[] next = context.newBuffer();
+            for (int i = from + 1; i < to; i++) {
+                BigInteger[] ciphertext = ciphertexts.get(i);
+                MontgomeryContext.toLimbs(ciphertext[0], next);
+                context.montgomeryMultiply(a, next, a);
+                MontgomeryContext.toLimbs(ciphertext[1], next);
+                context.montgomeryMultiply(b, next, b);
+            }
+            BigInteger correction = BigInteger.ONE.shiftLeft(64 * context.limbs()).modPow(BigInteger.valueOf(to - from - 1), p);
+            return new BigInteger[] {
+                    MontgomeryContext.toBigInteger(a).multiply(correction).mod(p),
+                    MontgomeryContext.toBigInteger(b).multiply(correction).mod(p)};
+        }
+    }
+}
@@ -4,36 +4,50 @@ import java.security.SecureRandom;
 public class ELGamalGenerator {
     private static SecureRandom random = new SecureRandom();
     private static int bitLength = 270; // For test, can be 256 or 512. Production: 2048 or more.
+    private static final CryptoMetrics.Operation KEYGEN = CryptoMetrics.operation("keygen", "ElGamal-manual");
 
     public static ELGamalKeyPair generatorKeyPair() {
-        // Generate a secure prime: p = 2q + 1 , q is also prime
-        BigInteger q = BigInteger.probablePrime(bitLength - 1, random);
-        BigInteger p = q.multiply(BigInteger.TWO).add(BigInteger.ONE);
-        // Check if p is prime
-        while (!p.isProbablePrime(40)) {
-            q = BigInteger.probablePrime(bitLength - 1, random);
-            p = q.multiply(BigInteger.TWO).add(BigInteger.ONE);
-        }
+        return generatorKeyPair(bitLength);
+    }
 
-        //Chose a good Generator for the group: g
-        BigInteger g = BigInteger.TWO; // Starts with 2 (1 not secure)
-        while (g.modPow(q, p).equals(BigInteger.ONE)) { // If true g is on a small group -> not secure
-            g = g.add(BigInteger.ONE); // Testing until it finds g: g^q ≠ 1 mod p
-        }
+    public static ELGamalKeyPair generatorKeyPair(int bitLength) {
+        // Reuse one group per bit length: only x and y change per key
+        return generatorKeyPair(ELGamalGroupStore.getGroup(bitLength));
+    }
+
+    public static ELGamalKeyPair generatorKeyPair(ELGamalGroup group) {
+        long start = System.nanoTime();
+        BigInteger p = group.get_primeP();
+        BigInteger g = group.get_generatorG();
 
         // Create Private key: x ∈ [1, p−2]
-        BigInteger x = new BigInteger(bitLength - 2, random);
+        BigInteger x = new BigInteger(p.bitLength() - 2, random);
         // Ensure x is >1 and <p-2
         while (x.compareTo(BigInteger.ONE) < 0 || x.compareTo(p.subtract(BigInteger.TWO)) > 0) {
-            x = new BigInteger(bitLength - 2, random);
+            x = new BigInteger(p.bitLength() - 2, random);
         }
 
         // Create Public key: y = g^x mod p
         BigInteger y = g.modPow(x, p);
 
+        KEYGEN.record(p.bitLength(), start);
         return new ELGamalKeyPair(p, g, y, x);
     }
 
+    public static ELGamalGroup generateGroup(int bitLength) {
+        // Generate a secure prime: p = 2q + 1 , q is also prime (sieved, parallel search)
+        BigInteger p = SafePrimeGenerator.generate(bitLength, random);
+        BigInteger q = p.shiftRight(1);
+
+        //Chose a good Generator for the group: g of order q, like g = 2 in the RFC groups
+        BigInteger g = BigInteger.TWO; // Starts with 2 (1 not secure)
+        while (!ELGamalGroup.isPrimeOrderGenerator(p, g)) { // Order 2q (or 2): g^m would leak m mod 2
+            g = g.add(BigInteger.ONE); // Testing until it finds g: g^q = 1 mod p, g ≠ 1
+        }
+
+        return new ELGamalGroup("generated" + bitLength, p, g);
+    }
+
     public static SecureRandom get_random() {
         return random;
     }
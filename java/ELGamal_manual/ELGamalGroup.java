@@ -0,0 +1,47 @@
+import java.math.BigInteger;
+
+// Public group parameters (p, g) shared by many ElGamal keys: p = 2q + 1, q prime, g of order q
+// (g generates the quadratic residues, as 2 does in the RFC groups, so ciphertexts never reveal a Legendre symbol)
+public class ELGamalGroup {
+    private final String name;
+    private final BigInteger primeP;
+    private final BigInteger generatorG;
+
+    public ELGamalGroup(String name, BigInteger p, BigInteger g) {
+        if (!p.testBit(0) || g.compareTo(BigInteger.ONE) <= 0 || g.compareTo(p.subtract(BigInteger.ONE)) >= 0) {
+            throw new IllegalArgumentException("Error: invalid group parameters → " + name);
+        }
+        this.name = name;
+        this.primeP = p;
+        this.generatorG = g;
+    }
+
+    public String get_name() {
+        return name;
+    }
+    public BigInteger get_primeP() {
+        return primeP;
+    }
+    public BigInteger get_primeQ() {
+        return primeP.shiftRight(1); // q = (p - 1) / 2
+    }
+    public BigInteger get_generatorG() {
+        return generatorG;
+    }
+    public int get_bitLength() {
+        return primeP.bitLength();
+    }
+
+    // Full check for parameters from outside the code (e.g. the on-disk cache): p and q prime, g of order q
+    public boolean isValid() {
+        BigInteger q = get_primeQ();
+        return q.isProbablePrime(PrimeSieve.CERTAINTY) && primeP.isProbablePrime(PrimeSieve.CERTAINTY)
+                && isPrimeOrderGenerator(primeP, generatorG);
+    }
+
+    // g^q = 1 and g ≠ 1: with q prime, g then has order exactly q
+    public static boolean isPrimeOrderGenerator(BigInteger p, BigInteger g) {
+        return g.compareTo(BigInteger.ONE) > 0 && g.compareTo(p) < 0
+                && g.modPow(p.shiftRight(1), p).equals(BigInteger.ONE);
+    }
+}
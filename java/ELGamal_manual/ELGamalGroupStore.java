@@ -0,0 +1,218 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Group parameters keyed by bit length: RFC 7919 / RFC 3526 groups built in, other sizes generated once per process.
+// The disk cache is opt-in: -Delgamal.groups.dir=<dir> or setCacheDirectory(); nothing is written otherwise.
+public class ELGamalGroupStore {
+    private static final System.Logger LOG = System.getLogger(ELGamalGroupStore.class.getName());
+    private static final Map<String, ELGamalGroup> STANDARD = new ConcurrentHashMap<>();
+    private static final Map<Integer, ELGamalGroup> GROUPS = new ConcurrentHashMap<>();
+    private static volatile Path cacheDirectory = System.getProperty("elgamal.groups.dir") == null
+            ? null : Paths.get(System.getProperty("elgamal.groups.dir"));
+
+    // RFC 3526 MODP groups (g = 2)
+    private static final String MODP_1536 =
+            "FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74" +
+            "020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F1437" +
+            "4FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7ED" +
+            "EE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF05" +
+            "98DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB" +
+            "9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF";
+    private static final String MODP_2048 =
+            "FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74" +
+            "020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F1437" +
+            "4FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7ED" +
+            "EE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF05" +
+            "98DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB" +
+            "9ED529077096966D670C354E4ABC9804F1746C08CA18217C32905E462E36CE3B" +
+            "E39E772C180E86039B2783A2EC07A28FB5C55DF06F4C52C9DE2BCBF695581718" +
+            "3995497CEA956AE515D2261898FA051015728E5A8AACAA68FFFFFFFFFFFFFFFF";
+    private static final String MODP_3072 =
+            "FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74" +
+            "020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F1437" +
+            "4FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7ED" +
+            "EE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF05" +
+            "98DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB" +
+            "9ED529077096966D670C354E4ABC9804F1746C08CA18217C32905E462E36CE3B" +
+            "E39E772C180E86039B2783A2EC07A28FB5C55DF06F4C52C9DE2BCBF695581718" +
+            "3995497CEA956AE515D2261898FA051015728E5A8AAAC42DAD33170D04507A33" +
+            "A85521ABDF1CBA64ECFB850458DBEF0A8AEA71575D060C7DB3970F85A6E1E4C7" +
+            "ABF5AE8CDB0933D71E8C94E04A25619DCEE3D2261AD2EE6BF12FFA06D98A0864" +
+            "D87602733EC86A64521F2B18177B200CBBE117577A615D6C770988C0BAD946E2" +
+            "08E24FA074E5AB3143DB5BFCE0FD108E4B82D120A93AD2CAFFFFFFFFFFFFFFFF";
+    private static final String MODP_4096 =
+            "FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74" +
+            "020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F1437" +
+            "4FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7ED" +
+            "EE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF05" +
+            "98DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB" +
+            "9ED529077096966D670C354E4ABC9804F1746C08CA18217C32905E462E36CE3B" +
+            "E39E772C180E86039B2783A2EC07A28FB5C55DF06F4C52C9DE2BCBF695581718" +
+            "3995497CEA956AE515D2261898FA051015728E5A8AAAC42DAD33170D04507A33" +
+            "A85521ABDF1CBA64ECFB850458DBEF0A8AEA71575D060C7DB3970F85A6E1E4C7" +
+            "ABF5AE8CDB0933D71E8C94E04A25619DCEE3D2261AD2EE6BF12FFA06D98A0864" +
+            "D87602733EC86A64521F2B18177B200CBBE117577A615D6C770988C0BAD946E2" +
+            "08E24FA074E5AB3143DB5BFCE0FD108E4B82D120A92108011A723C12A787E6D7" +
+            "88719A10BDBA5B2699C327186AF4E23C1A946834B6150BDA2583E9CA2AD44CE8" +
+            "DBBBC2DB04DE8EF92E8EFC141FBECAA6287C59474E6BC05D99B2964FA090C3A2" +
+            "233BA186515BE7ED1F612970CEE2D7AFB81BDD762170481CD0069127D5B05AA9" +
+            "93B4EA988D8FDDC186FFB7DC90A6C08F4DF435C934063199FFFFFFFFFFFFFFFF";
+    // RFC 7919 FFDHE groups (g = 2)
+    private static final String FFDHE_2048 =
+            "FFFFFFFFFFFFFFFFADF85458A2BB4A9AAFDC5620273D3CF1D8B9C583CE2D3695" +
+            "A9E13641146433FBCC939DCE249B3EF97D2FE363630C75D8F681B202AEC4617A" +
+            "D3DF1ED5D5FD65612433F51F5F066ED0856365553DED1AF3B557135E7F57C935" +
+            "984F0C70E0E68B77E2A689DAF3EFE8721DF158A136ADE73530ACCA4F483A797A" +
+            "BC0AB182B324FB61D108A94BB2C8E3FBB96ADAB760D7F4681D4F42A3DE394DF4" +
+            "AE56EDE76372BB190B07A7C8EE0A6D709E02FCE1CDF7E2ECC03404CD28342F61" +
+            "9172FE9CE98583FF8E4F1232EEF28183C3FE3B1B4C6FAD733BB5FCBC2EC22005" +
+            "C58EF1837D1683B2C6F34A26C1B2EFFA886B423861285C97FFFFFFFFFFFFFFFF";
+    private static final String FFDHE_3072 =
+            "FFFFFFFFFFFFFFFFADF85458A2BB4A9AAFDC5620273D3CF1D8B9C583CE2D3695" +
+            "A9E13641146433FBCC939DCE249B3EF97D2FE363630C75D8F681B202AEC4617A" +
+            "D3DF1ED5D5FD65612433F51F5F066ED0856365553DED1AF3B557135E7F57C935" +
+            "984F0C70E0E68B77E2A689DAF3EFE8721DF158A136ADE73530ACCA4F483A797A" +
+            "BC0AB182B324FB61D108A94BB2C8E3FBB96ADAB760D7F4681D4F42A3DE394DF4" +
+            "AE56EDE76372BB190B07A7C8EE0A6D709E02FCE1CDF7E2ECC03404CD28342F61" +
+            "9172FE9CE98583FF8E4F1232EEF28183C3FE3B1B4C6FAD733BB5FCBC2EC22005" +
+            "C58EF1837D1683B2C6F34A26C1B2EFFA886B4238611FCFDCDE355B3B6519035B" +
+            "BC34F4DEF99C023861B46FC9D6E6C9077AD91D2691F7F7EE598CB0FAC186D91C" +
+            "AEFE130985139270B4130C93BC437944F4FD4452E2D74DD364F2E21E71F54BFF" +
+            "5CAE82AB9C9DF69EE86D2BC522363A0DABC521979B0DEADA1DBF9A42D5C4484E" +
+            "0ABCD06BFA53DDEF3C1B20EE3FD59D7C25E41D2B66C62E37FFFFFFFFFFFFFFFF";
+    private static final String FFDHE_4096 =
+            "FFFFFFFFFFFFFFFFADF85458A2BB4A9AAFDC5620273D3CF1D8B9C583CE2D3695" +
+            "A9E13641146433FBCC939DCE249B3EF97D2FE363630C75D8F681B202AEC4617A" +
+            "D3DF1ED5D5FD65612433F51F5F066ED0856365553DED1AF3B557135E7F57C935" +
+            "984F0C70E0E68B77E2A689DAF3EFE8721DF158A136ADE73530ACCA4F483A797A" +
+            "BC0AB182B324FB61D108A94BB2C8E3FBB96ADAB760D7F4681D4F42A3DE394DF4" +
+            "AE56EDE76372BB190B07A7C8EE0A6D709E02FCE1CDF7E2ECC03404CD28342F61" +
+            "9172FE9CE98583FF8E4F1232EEF28183C3FE3B1B4C6FAD733BB5FCBC2EC22005" +
+            "C58EF1837D1683B2C6F34A26C1B2EFFA886B4238611FCFDCDE355B3B6519035B" +
+            "BC34F4DEF99C023861B46FC9D6E6C9077AD91D2691F7F7EE598CB0FAC186D91C" +
+            "AEFE130985139270B4130C93BC437944F4FD4452E2D74DD364F2E21E71F54BFF" +
+            "5CAE82AB9C9DF69EE86D2BC522363A0DABC521979B0DEADA1DBF9A42D5C4484E" +
+            "0ABCD06BFA53DDEF3C1B20EE3FD59D7C25E41D2B669E1EF16E6F52C3164DF4FB" +
+            "7930E9E4E58857B6AC7D5F42D69F6D187763CF1D5503400487F55BA57E31CC7A" +
+            "7135C886EFB4318AED6A1E012D9E6832A907600A918130C46DC778F971AD0038" +
+            "092999A333CB8B7A1A1DB93D7140003C2A4ECEA9F98D0ACC0A8291CDCEC97DCF" +
+            "8EC9B55A7F88A46B4DB5A851F44182E1C68A007E5E655F6AFFFFFFFFFFFFFFFF";
+
+    static {
+        register("modp1536", MODP_1536);
+        register("modp2048", MODP_2048);
+        register("modp3072", MODP_3072);
+        register("modp4096", MODP_4096);
+        register("ffdhe2048", FFDHE_2048);
+        register("ffdhe3072", FFDHE_3072);
+        register("ffdhe4096", FFDHE_4096);
+    }
+
+    // Same bit length always returns the same group: built-in first, then memory, then disk, then a new safe prime
+    public static ELGamalGroup getGroup(int bitLength) {
+        ELGamalGroup standard = defaultStandardGroup(bitLength);
+        if (standard != null) {
+            return standard;
+        }
+        return GROUPS.computeIfAbsent(bitLength, bits -> {
+            ELGamalGroup cached = load(bits);
+            if (cached != null) {
+                return cached;
+            }
+            ELGamalGroup generated = ELGamalGenerator.generateGroup(bits);
+            save(generated);
+            return generated;
+        });
+    }
+
+    public static ELGamalGroup getStandardGroup(String name) {
+        ELGamalGroup group = STANDARD.get(name);
+        if (group == null) {
+            throw new IllegalArgumentException("Error: unknown standard group → " + name);
+        }
+        return group;
+    }
+
+    // null (the default without elgamal.groups.dir) disables the on-disk cache: groups then live only for the lifetime of the process
+    public static void setCacheDirectory(Path directory) {
+        cacheDirectory = directory;
+    }
+    public static Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    private static ELGamalGroup defaultStandardGroup(int bitLength) {
+        // RFC 7919 groups where available, RFC 3526 otherwise
+        ELGamalGroup group = STANDARD.get("ffdhe" + bitLength);
+        return group != null ? group : STANDARD.get("modp" + bitLength);
+    }
+
+    private static ELGamalGroup load(int bitLength) {
+        Path directory = cacheDirectory;
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve("group-" + bitLength + ".properties");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            BigInteger p = new BigInteger(properties.getProperty("p"), 16);
+            BigInteger g = new BigInteger(properties.getProperty("g"), 16);
+            if (p.bitLength() != bitLength) {
+                return null; // Stale or edited file: regenerate
+            }
+            ELGamalGroup group = new ELGamalGroup("generated" + bitLength, p, g);
+            if (!group.isValid()) {
+                // Composite or non-safe p, or g outside the order-q subgroup: every key on it would be weak
+                LOG.log(System.Logger.Level.WARNING, "Rejecting invalid group cache " + file + ": regenerating");
+                return null;
+            }
+            return group;
+        } catch (IOException | RuntimeException e) {
+            LOG.log(System.Logger.Level.WARNING, "Ignoring unreadable group cache " + file, e);
+            return null;
+        }
+    }
+
+    private static void save(ELGamalGroup group) {
+        Path directory = cacheDirectory;
+        if (directory == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("p", group.get_primeP().toString(16));
+        properties.setProperty("g", group.get_generatorG().toString(16));
+        try {
+            Files.createDirectories(directory);
+            // Write then rename, so a concurrent reader never sees half a file
+            Path temp = Files.createTempFile(directory, "group-", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "ElGamal safe-prime group, " + group.get_bitLength() + " bits");
+                }
+                Files.move(temp, directory.resolve("group-" + group.get_bitLength() + ".properties"),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOG.log(System.Logger.Level.WARNING, "Could not cache group in " + directory, e);
+        }
+    }
+
+    private static void register(String name, String hexP) {
+        STANDARD.put(name, new ELGamalGroup(name, new BigInteger(hexP, 16), BigInteger.TWO));
+    }
+}
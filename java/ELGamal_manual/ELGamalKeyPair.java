@@ -24,4 +24,15 @@ public class ELGamalKeyPair {
         return privateKeyX;
     }
 
+    // Flat form for KeyRing: p, g, y, x
+    public BigInteger[] toComponents(){
+        return new BigInteger[]{primeP, generatorG, publicKeyY, privateKeyX};
+    }
+    public static ELGamalKeyPair fromComponents(BigInteger[] components){
+        if (components.length != 4) {
+            throw new IllegalArgumentException("Error: not an ElGamal component list → " + components.length + " components");
+        }
+        return new ELGamalKeyPair(components[0], components[1], components[2], components[3]);
+    }
+
 }
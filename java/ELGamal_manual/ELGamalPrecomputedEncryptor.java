@@ -0,0 +1,49 @@
+import java.math.BigInteger;
+
+// Encryptor bound to one recipient key: g^k and y^k come from fixed-base tables instead of two full modPows
+public class ELGamalPrecomputedEncryptor {
+    public static final long DEFAULT_MEMORY_BUDGET = 32L << 20; // 32 MiB for both tables (w = 7 at 2048 bits)
+
+    private final ELGamalKeyPair keyPair;
+    private final FixedBaseTable generatorTable;
+    private final FixedBaseTable publicKeyTable;
+
+    public ELGamalPrecomputedEncryptor(ELGamalKeyPair keyPair) {
+        this(keyPair, DEFAULT_MEMORY_BUDGET);
+    }
+
+    public ELGamalPrecomputedEncryptor(ELGamalKeyPair keyPair, long memoryBudget) {
+        BigInteger p = keyPair.get_primeP();
+        int bits = p.bitLength();                     // k < p, so k has at most bits bits
+        int window = FixedBaseTable.windowForBudget(bits, bits, memoryBudget / 2);
+
+        this.keyPair = keyPair;
+        this.generatorTable = new FixedBaseTable(keyPair.get_generatorG(), p, bits, window);
+        this.publicKeyTable = new FixedBaseTable(keyPair.get_publicKeyY(), p, bits, window);
+    }
+
+    public BigInteger[] encrypt(BigInteger plaintext) {
+        BigInteger[] pair = ephemeralPair();
+        BigInteger a = pair[0];                                              // a = g^k mod p
+        BigInteger b = plaintext.multiply(pair[1]).mod(keyPair.get_primeP());  // b = m × y^k mod p
+
+        return new BigInteger[] {a, b};
+    }
+
+    // Single-use (g^k, y^k) for a fresh random k
+    public BigInteger[] ephemeralPair() {
+        BigInteger k = ELGamalEncryptor.randomEphemeral(keyPair.get_primeP());
+        return new BigInteger[] {generatorTable.pow(k), publicKeyTable.pow(k)};
+    }
+
+    public BigInteger decrypt(BigInteger[] ciphertext) {
+        return ELGamalEncryptor.decrypt(ciphertext, keyPair.get_primeP(), keyPair.get_privateKeyX());
+    }
+
+    public int get_window() {
+        return generatorTable.get_window();
+    }
+    public ELGamalKeyPair get_keyPair() {
+        return keyPair;
+    }
+}
@@ -0,0 +1,95 @@
+import java.math.BigInteger;
+
+// Fixed-base windowed exponentiation: base^k mod p with only multiplications, no squarings.
+// Entries are kept in Montgomery form (a·R mod p) so each step is a REDC instead of a long division.
+public class FixedBaseTable {
+    private static final int ENTRY_OVERHEAD = 48; // BigInteger object + int[] header, in bytes
+    private static final int MAX_WINDOW = 16;
+
+    private final BigInteger modulus;
+    private final int shift;             // R = 2^shift > p
+    private final BigInteger mask;       // R − 1
+    private final BigInteger inverse;    // N' = −p^-1 mod R
+    private final BigInteger one;        // R mod p (Montgomery form of 1)
+    private final int window;
+    private final int exponentBits;
+    private final BigInteger[][] table; // table[i][j] = base^(j × 2^(w·i)) mod p, j ∈ [1, 2^w − 1]
+
+    public FixedBaseTable(BigInteger base, BigInteger modulus, int exponentBits, int window) {
+        if (window < 1 || window > MAX_WINDOW) {
+            throw new IllegalArgumentException("Error: window must be in [1, " + MAX_WINDOW + "] → " + window);
+        }
+        this.modulus = modulus;
+        this.shift = (modulus.bitLength() + 31) & ~31;   // Whole int words keep and/shift cheap
+        BigInteger r = BigInteger.ONE.shiftLeft(shift);
+        this.mask = r.subtract(BigInteger.ONE);
+        this.inverse = modulus.negate().modInverse(r);
+        this.one = r.mod(modulus);
+        this.window = window;
+        this.exponentBits = exponentBits;
+
+        int windows = (exponentBits + window - 1) / window;
+        int digits = (1 << window) - 1;
+        this.table = new BigInteger[windows][digits + 1];
+
+        BigInteger windowBase = base.shiftLeft(shift).mod(modulus);   // base^(2^(w·i)) · R
+        for (int i = 0; i < windows; i++) {
+            table[i][1] = windowBase;
+            for (int j = 2; j <= digits; j++) {
+                table[i][j] = multiply(table[i][j - 1], windowBase);
+            }
+            windowBase = multiply(table[i][digits], windowBase);
+        }
+    }
+
+    // Largest window whose table fits in memoryBudget bytes (at least 1)
+    public static int windowForBudget(int modulusBits, int exponentBits, long memoryBudget) {
+        long entryBytes = modulusBits / 8 + ENTRY_OVERHEAD;
+        int best = 1;
+        for (int w = 1; w <= MAX_WINDOW; w++) {
+            long windows = (exponentBits + w - 1) / w;
+            if (windows * ((1L << w) - 1) * entryBytes <= memoryBudget) {
+                best = w;
+            }
+        }
+        return best;
+    }
+
+    public static long tableBytes(int modulusBits, int exponentBits, int window) {
+        return (long) ((exponentBits + window - 1) / window) * ((1L << window) - 1) * (modulusBits / 8 + ENTRY_OVERHEAD);
+    }
+
+    public BigInteger pow(BigInteger exponent) {
+        if (exponent.signum() < 0 || exponent.bitLength() > exponentBits) {
+            throw new IllegalArgumentException("Error: exponent out of table range → " + exponent.bitLength() + " bits");
+        }
+        // base^k = ∏ table[i][digit_i], digit_i = i-th w-bit window of k
+        BigInteger result = one;
+        for (int i = 0; i < table.length; i++) {
+            int digit = 0;
+            for (int b = 0; b < window; b++) {
+                if (exponent.testBit(i * window + b)) digit |= 1 << b;
+            }
+            if (digit != 0) {
+                result = multiply(result, table[i][digit]);
+            }
+        }
+        return reduce(result);  // Leave Montgomery form: a·R·R^-1 = a
+    }
+
+    // Montgomery product: a·b·R^-1 mod p
+    private BigInteger multiply(BigInteger a, BigInteger b) {
+        return reduce(a.multiply(b));
+    }
+
+    // REDC: t·R^-1 mod p for 0 ≤ t < p·R
+    private BigInteger reduce(BigInteger t) {
+        BigInteger m = t.and(mask).multiply(inverse).and(mask);
+        BigInteger u = t.add(m.multiply(modulus)).shiftRight(shift);
+        return u.compareTo(modulus) >= 0 ? u.subtract(modulus) : u;
+    }
+
+    public int get_window() {
+        return window;
+    }
+}
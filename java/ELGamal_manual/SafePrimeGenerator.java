@@ -0,0 +1,67 @@
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SafePrimeGenerator {
+    private static final ForkJoinPool POOL = PrimeSieve.POOL;   // Shared with RSAGenerator's prime search
+
+    // Safe prime p = 2q + 1 with q prime, p has exactly bitLength bits
+    public static BigInteger generate(int bitLength, SecureRandom random) {
+        return generate(bitLength, random, POOL.getParallelism());
+    }
+
+    public static BigInteger generate(int bitLength, SecureRandom random, int workers) {
+        if (bitLength < 32) {
+            throw new IllegalArgumentException("Error: safe prime bit length too small → " + bitLength);
+        }
+        // Every worker sieves its own random windows; the first hit flips the flag and the others stop
+        AtomicBoolean found = new AtomicBoolean(false);
+        List<Callable<BigInteger>> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> search(bitLength, random, found));
+        }
+        try {
+            return POOL.invokeAny(tasks); // Returns the first result and cancels the remaining workers
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Safe prime search interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Safe prime search failed.", e.getCause());
+        }
+    }
+
+    private static BigInteger search(int bitLength, SecureRandom random, AtomicBoolean found) {
+        while (!found.get()) {
+            // Random odd base for q with the top bit set: q has bitLength - 1 bits
+            BigInteger base = new BigInteger(bitLength - 1, random).setBit(bitLength - 2).setBit(0);
+            PrimeSieve sieve = new PrimeSieve(base, true);   // Sieves q and 2q + 1 together
+
+            // Walk consecutive windows from the same base: only the residues move, no new divisions
+            while (!found.get() && sieve.candidate(sieve.window()).bitLength() == bitLength - 1) {
+                for (int j = 0; j < sieve.window(); j++) {
+                    if (sieve.isComposite(j)) continue;
+                    if (found.get()) break;
+                    BigInteger q = sieve.candidate(j);
+                    BigInteger p = q.shiftLeft(1).add(BigInteger.ONE);
+
+                    // Cheap Fermat test on p first (2^(p-1) = 2^(2q) mod p), the full Miller–Rabin only for survivors
+                    if (!BigInteger.TWO.modPow(q.shiftLeft(1), p).equals(BigInteger.ONE)) continue;
+                    if (q.isProbablePrime(PrimeSieve.CERTAINTY) && p.isProbablePrime(PrimeSieve.CERTAINTY)) {
+                        if (found.compareAndSet(false, true)) {
+                            return p;
+                        }
+                        break;
+                    }
+                }
+                sieve.advance();
+            }
+        }
+        throw new CancellationException("Another worker found the safe prime.");
+    }
+}
@@ -0,0 +1,83 @@
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.function.Supplier;
+
+public class RSABenchmark {
+    private static final int KEYGEN_ROUNDS = 5;
+    private static final int DECRYPT_ROUNDS = 200;
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("keygen")) {
+            keygen(new int[]{1024, 2048, 3072, 4096});
+            return;
+        }
+        int bitLength = args.length > 0 ? Integer.parseInt(args[0]) : 4096; // k = 4 needs at least 4096 bits
+        SecureRandom random = new SecureRandom();
+
+        System.out.println("Modulus: \t" + bitLength + " bits");
+        System.out.println("Primes \tKeygen (ms) \tDecrypt CRT (ms) \tDecrypt (d, n) (ms)");
+
+        for (int primeCount = 2; primeCount <= Math.min(4, RSAGenerator.maxPrimes(bitLength)); primeCount++) {
+            // Keygen: average over a few keys, the prime search is very noisy
+            RSAKeyPair[] keys = new RSAKeyPair[KEYGEN_ROUNDS];
+            long start = System.nanoTime();
+            for (int i = 0; i < KEYGEN_ROUNDS; i++) {
+                keys[i] = RSAGenerator.generateKeyPair(bitLength, primeCount);
+            }
+            double keygenMs = (System.nanoTime() - start) / 1e6 / KEYGEN_ROUNDS;
+            RSAKeyPair keyPair = keys[0];
+
+            BigInteger n = keyPair.get_modulusN();
+            BigInteger plaintext = new BigInteger(bitLength - 1, random);
+            BigInteger cipher = RSAEncryptor.encrypt(plaintext, keyPair.get_publicKeyE(), n);
+
+            double crtMs = timeDecrypt(() -> RSAEncryptor.decrypt(cipher, keyPair), plaintext);
+            double plainMs = timeDecrypt(() -> RSAEncryptor.decrypt(cipher, keyPair.get_privateKeyD(), n), plaintext);
+
+            System.out.printf("%d \t\t%.1f \t\t\t%.3f \t\t\t\t%.3f%n", primeCount, keygenMs, crtMs, plainMs);
+        }
+    }
+
+    // Two-prime keygen: the sieved engine with p and q found in parallel, against p then q from BigInteger.probablePrime
+    private static void keygen(int[] bitLengths) {
+        SecureRandom random = new SecureRandom();
+        RSAGenerator.generateKeyPair(1024, 2); // Warm-up
+        System.out.println("Cores: \t" + PrimeSieve.POOL.getParallelism());
+        System.out.println("Bits \tSieved parallel (ms) \tprobablePrime sequential (ms)");
+
+        for (int bitLength : bitLengths) {
+            int rounds = bitLength <= 2048 ? 2 * KEYGEN_ROUNDS : KEYGEN_ROUNDS;
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                RSAGenerator.generateKeyPair(bitLength, 2);
+            }
+            double sievedMs = (System.nanoTime() - start) / 1e6 / rounds;
+
+            start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                BigInteger p = BigInteger.probablePrime(bitLength / 2, random);
+                BigInteger q;
+                do {
+                    q = BigInteger.probablePrime(bitLength / 2, random);
+                } while (q.equals(p) || p.multiply(q).bitLength() != bitLength);
+            }
+            double sequentialMs = (System.nanoTime() - start) / 1e6 / rounds;
+
+            System.out.printf("%d \t%.1f \t\t\t\t%.1f%n", bitLength, sievedMs, sequentialMs);
+        }
+    }
+
+    private static double timeDecrypt(Supplier<BigInteger> decrypt, BigInteger expected) {
+        // Warm-up so the JIT compiles modPow before measuring
+        for (int i = 0; i < DECRYPT_ROUNDS / 4; i++) {
+            decrypt.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < DECRYPT_ROUNDS; i++) {
+            if (!decrypt.get().equals(expected)) {
+                throw new IllegalStateException("Decryption mismatch.");
+            }
+        }
+        return (System.nanoTime() - start) / 1e6 / DECRYPT_ROUNDS;
+    }
+}
@@ -1,13 +1,157 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 public class RSAEncryptor {
+    private static final String ALGORITHM = "RSA-manual";
+    private static final CryptoMetrics.Operation ENCRYPT = CryptoMetrics.operation("encrypt", ALGORITHM);
+    private static final CryptoMetrics.Operation DECRYPT = CryptoMetrics.operation("decrypt", ALGORITHM);
+    private static final CryptoMetrics.Operation SIGN = CryptoMetrics.operation("sign", ALGORITHM);
+    private static final CryptoMetrics.Operation VERIFY = CryptoMetrics.operation("verify", ALGORITHM);
 
     public static BigInteger encrypt(BigInteger plaintext, BigInteger e, BigInteger n) {
-        return plaintext.modPow(e, n);
+        long start = System.nanoTime();
+        BigInteger cipher = plaintext.modPow(e, n);
+        ENCRYPT.record(n.bitLength(), start);
+        return cipher;
     }
 
     public static BigInteger decrypt(BigInteger cipher, BigInteger d, BigInteger n) {
-        return cipher.modPow(d, n);
+        long start = System.nanoTime();
+        BigInteger message = cipher.modPow(d, n);
+        DECRYPT.record(n.bitLength(), start);
+        return message;
+    }
+
+    public static BigInteger decrypt(BigInteger cipher, RSAKeyPair keyPair) {
+        long start = System.nanoTime();
+        BigInteger message = privateOperation(cipher, keyPair);
+        DECRYPT.record(keyPair.get_modulusN().bitLength(), start);
+        return message;
+    }
+
+    // Signing is the same private-key operation: s = m^d mod n
+    public static BigInteger sign(BigInteger message, RSAKeyPair keyPair) {
+        long start = System.nanoTime();
+        BigInteger signature = privateOperation(message, keyPair);
+        SIGN.record(keyPair.get_modulusN().bitLength(), start);
+        return signature;
+    }
+
+    public static boolean verify(BigInteger message, BigInteger signature, BigInteger e, BigInteger n) {
+        long start = System.nanoTime();
+        boolean valid = signature.modPow(e, n).equals(message.mod(n));
+        VERIFY.record(n.bitLength(), start);
+        return valid;
+    }
+
+    // Uses the CRT path when the key has p, q, dP, dQ and qInv, otherwise falls back to (d, n)
+    private static BigInteger privateOperation(BigInteger cipher, RSAKeyPair keyPair) {
+        if (!keyPair.hasCRT()) {
+            return cipher.modPow(keyPair.get_privateKeyD(), keyPair.get_modulusN());
+        }
+        BigInteger message = keyPair.get_primeCount() > 2
+                ? decryptMultiPrimeCRT(cipher, keyPair.get_primeP(), keyPair.get_primeQ(),
+                        keyPair.get_exponentDP(), keyPair.get_exponentDQ(), keyPair.get_coefficientQInv(),
+                        keyPair.get_otherPrimes(), keyPair.get_otherExponents(), keyPair.get_otherCoefficients())
+                : decryptCRT(cipher, keyPair.get_primeP(), keyPair.get_primeQ(),
+                        keyPair.get_exponentDP(), keyPair.get_exponentDQ(), keyPair.get_coefficientQInv());
+
+        // Fault check: a glitch in one half would leak p or q (Bellcore attack), so never release an unchecked result
+        if (!message.modPow(keyPair.get_publicKeyE(), keyPair.get_modulusN()).equals(cipher.mod(keyPair.get_modulusN()))) {
+            throw new ArithmeticException("CRT fault detected: result does not match the ciphertext.");
+        }
+        return message;
+    }
+
+    public static BigInteger decryptCRT(BigInteger cipher, BigInteger p, BigInteger q,
+                                        BigInteger dP, BigInteger dQ, BigInteger qInv) {
+        // Two half-size exponentiations instead of one full-size: m1 = c^dP mod p, m2 = c^dQ mod q
+        BigInteger m1 = cipher.mod(p).modPow(dP, p);
+        BigInteger m2 = cipher.mod(q).modPow(dQ, q);
+
+        // Garner recombination: h = qInv × (m1 − m2) mod p, m = m2 + h × q
+        BigInteger h = qInv.multiply(m1.subtract(m2)).mod(p);
+        return m2.add(h.multiply(q));
+    }
+
+    // RFC 8017 §5.1.2 step 2.b for u > 2 primes: one (n/u)-size exponentiation per prime
+    public static BigInteger decryptMultiPrimeCRT(BigInteger cipher, BigInteger p, BigInteger q,
+                                                  BigInteger dP, BigInteger dQ, BigInteger qInv,
+                                                  BigInteger[] r, BigInteger[] dR, BigInteger[] t) {
+        BigInteger m = decryptCRT(cipher, p, q, dP, dQ, qInv);
+
+        // For each extra prime: m_i = c^d_i mod r_i, h = (m_i − m) × t_i mod r_i, m = m + R × h
+        BigInteger product = p.multiply(q);   // R = r_1 × ... × r_(i-1)
+        for (int i = 0; i < r.length; i++) {
+            BigInteger mi = cipher.mod(r[i]).modPow(dR[i], r[i]);
+            BigInteger h = mi.subtract(m).multiply(t[i]).mod(r[i]);
+            m = m.add(product.multiply(h));
+            product = product.multiply(r[i]);
+        }
+        return m;
+    }
+
+    // Batch entry points: spread over a fork-join pool, results in input order
+    public static List<BigInteger> encryptBatch(List<BigInteger> plaintexts, BigInteger e, BigInteger n, ForkJoinPool pool) {
+        int chunk = ParallelBatch.chunkSize(plaintexts.size(), pool.getParallelism(),
+                ParallelBatch.modPowNanos(n.bitLength(), e.bitLength()));
+        return ParallelBatch.map(plaintexts, plaintext -> encrypt(plaintext, e, n), pool, chunk);
+    }
+
+    public static List<BigInteger> encryptBatch(List<BigInteger> plaintexts, BigInteger e, BigInteger n) {
+        return encryptBatch(plaintexts, e, n, ForkJoinPool.commonPool());
+    }
+
+    public static BigInteger[] encryptBatch(BigInteger[] plaintexts, BigInteger e, BigInteger n) {
+        return encryptBatch(Arrays.asList(plaintexts), e, n).toArray(new BigInteger[0]);
+    }
+
+    public static List<BigInteger> decryptBatch(List<BigInteger> ciphers, RSAKeyPair keyPair, ForkJoinPool pool) {
+        // CRT keys do k exponentiations of n/k bits each: cost ≈ 1/k² of the plain (d, n) path
+        int bits = keyPair.get_modulusN().bitLength();
+        int primes = Math.max(1, keyPair.get_primeCount());
+        long nanos = ParallelBatch.modPowNanos(bits, bits) / ((long) primes * primes);
+        int chunk = ParallelBatch.chunkSize(ciphers.size(), pool.getParallelism(), nanos);
+        return ParallelBatch.map(ciphers, cipher -> decrypt(cipher, keyPair), pool, chunk);
+    }
+
+    public static List<BigInteger> decryptBatch(List<BigInteger> ciphers, RSAKeyPair keyPair) {
+        return decryptBatch(ciphers, keyPair, ForkJoinPool.commonPool());
+    }
+
+    public static BigInteger[] decryptBatch(BigInteger[] ciphers, RSAKeyPair keyPair) {
+        return decryptBatch(Arrays.asList(ciphers), keyPair).toArray(new BigInteger[0]);
+    }
+
+    // Streaming mode for messages larger than n: (k − 2)-byte blocks in, k-byte blocks out (k = bytes of n), see BlockStream
+    public static void encryptStream(InputStream in, OutputStream out, BigInteger e, BigInteger n,
+                                     ExecutorService pool, int readAhead) throws IOException {
+        int width = BlockStream.modulusBytes(n);
+        BlockStream.encrypt(in, out, width - 2,
+                block -> BlockStream.toFixedWidth(encrypt(BlockStream.encode(block), e, n), width), pool, readAhead);
+    }
+
+    public static void encryptStream(InputStream in, OutputStream out, BigInteger e, BigInteger n) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        encryptStream(in, out, e, n, pool, 4 * pool.getParallelism());
+    }
+
+    public static void decryptStream(InputStream in, OutputStream out, RSAKeyPair keyPair,
+                                     ExecutorService pool, int readAhead) throws IOException {
+        int width = BlockStream.modulusBytes(keyPair.get_modulusN());
+        BlockStream.decrypt(in, out, width,
+                block -> BlockStream.decode(decrypt(new BigInteger(1, block), keyPair), width - 2), pool, readAhead);
+    }
+
+    public static void decryptStream(InputStream in, OutputStream out, RSAKeyPair keyPair) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        decryptStream(in, out, keyPair, pool, 4 * pool.getParallelism());
     }
 
     public static BigInteger stringToBigInt(String text) {
@@ -3,21 +3,49 @@ import java.security.SecureRandom;
 
 public class RSAGenerator {
     private static final SecureRandom random = new SecureRandom();
-    private static final int BIT_LENGTH = 256; // For test, can be 256 or 512. Production: 2048 or more.
+    private static final int BIT_LENGTH = 512; // Size of n. For test, can be 512 or 1024. Production: 2048 or more.
+    private static final CryptoMetrics.Operation KEYGEN = CryptoMetrics.operation("keygen", "RSA-manual");
 
     public static RSAKeyPair generateKeyPair() {
-        // Select 2 Prime numbers: p & q
-        BigInteger p = BigInteger.probablePrime(BIT_LENGTH, random);
-        BigInteger q;
-        do {
-            q = BigInteger.probablePrime(BIT_LENGTH, random);
-        } while (q.equals(p));
+        return generateKeyPair(BIT_LENGTH, 2);
+    }
+
+    public static RSAKeyPair generateKeyPair(int bitLength, int primeCount) {
+        // More primes = smaller primes, so cap k to keep each one out of reach of factoring (ECM)
+        if (primeCount < 2 || primeCount > maxPrimes(bitLength)) {
+            throw new IllegalArgumentException("Error: " + primeCount + " primes not allowed for a " + bitLength + "-bit modulus (max " + maxPrimes(bitLength) + ")");
+        }
+        if (bitLength / primeCount < PrimeSieve.MIN_PRIME_BITS) {
+            throw new IllegalArgumentException("Error: modulus too small for " + primeCount + " primes of at least " + PrimeSieve.MIN_PRIME_BITS + " bits → " + bitLength);
+        }
+        long start = System.nanoTime();
 
-        // Calculate n = p * q
-        BigInteger n = p.multiply(q);
+        // Select k Prime numbers: r_1 = p, r_2 = q, r_3 ... r_k, all searched at the same time on separate cores
+        // Each has its two top bits set, so for k = 2 the product always has exactly bitLength bits
+        int[] sizes = new int[primeCount];
+        for (int i = 0; i < primeCount - 1; i++) {
+            sizes[i] = bitLength / primeCount;
+        }
+        sizes[primeCount - 1] = bitLength - (primeCount - 1) * (bitLength / primeCount);
+        BigInteger[] primes = PrimeSieve.randomPrimes(sizes, random);
+
+        // k > 2 can still land one bit short: redo the last prime (and any repeat) until n has exactly bitLength bits
+        BigInteger partial = BigInteger.ONE;
+        for (int i = 0; i < primeCount - 1; i++) {
+            partial = partial.multiply(primes[i]);
+        }
+        BigInteger n = partial.multiply(primes[primeCount - 1]);
+        while (n.bitLength() != bitLength || !distinct(primes)) {
+            primes[primeCount - 1] = PrimeSieve.randomPrime(bitLength - partial.bitLength(), random, () -> false);
+            n = partial.multiply(primes[primeCount - 1]);
+        }
 
-        // Calculate φ(n) = (p - 1) × (q - 1)
-        BigInteger phiN = phi(p).multiply(phi(q));
+        // Calculate φ(n) = (r_1 - 1) × ... × (r_k - 1)
+        // The primes come out of the sieve already tested, so no second primality test here
+        BigInteger phiN = BigInteger.ONE;
+        for (BigInteger prime : primes) {
+            phiN = phiN.multiply(prime.subtract(BigInteger.ONE));
+        }
 
         // Chose e: 1 < e < φ(n) e mdc(e, φ(n)) = 1
         // public key (e, n)
@@ -33,14 +61,43 @@ public class RSAGenerator {
         // private key (d, n)
         BigInteger d = e.modInverse(phiN);
 
-        return new RSAKeyPair(e, d, n);
+        // Keep the CRT parts so the private operation can run on p and q separately
+        BigInteger p = primes[0];
+        BigInteger q = primes[1];
+        BigInteger dP = d.mod(p.subtract(BigInteger.ONE));   // dP = d mod (p - 1)
+        BigInteger dQ = d.mod(q.subtract(BigInteger.ONE));   // dQ = d mod (q - 1)
+        BigInteger qInv = q.modInverse(p);                   // qInv = q^-1 mod p
+
+        // RFC 8017 OtherPrimeInfo: (r_i, d_i, t_i) for i = 3 ... k
+        BigInteger[] r = new BigInteger[primeCount - 2];
+        BigInteger[] dR = new BigInteger[primeCount - 2];
+        BigInteger[] t = new BigInteger[primeCount - 2];
+        BigInteger product = p.multiply(q);                  // r_1 × ... × r_(i-1)
+        for (int i = 2; i < primeCount; i++) {
+            r[i - 2] = primes[i];
+            dR[i - 2] = d.mod(primes[i].subtract(BigInteger.ONE));
+            t[i - 2] = product.modInverse(primes[i]);
+            product = product.multiply(primes[i]);
+        }
+
+        KEYGEN.record(bitLength, start);
+        return new RSAKeyPair(e, d, n, p, q, dP, dQ, qInv, r, dR, t);
+    }
+
+    public static int maxPrimes(int bitLength) {
+        // Same limits as common multi-prime implementations (e.g. OpenSSL)
+        if (bitLength < 1024) return 2;
+        if (bitLength < 4096) return 3;
+        if (bitLength < 8192) return 4;
+        return 5;
     }
 
-    private static BigInteger phi(BigInteger number){
-        // Methods excepts prime to be a prime number.
-        if (!number.isProbablePrime(40)) {
-            throw new IllegalArgumentException("Error: number is not prime → " + number);
+    private static boolean distinct(BigInteger[] primes) {
+        for (int i = 0; i < primes.length; i++) {
+            for (int j = i + 1; j < primes.length; j++) {
+                if (primes[i].equals(primes[j])) return false;
+            }
         }
-        return number.subtract(BigInteger.ONE);
+        return true;
     }
 }
\ No newline at end of file
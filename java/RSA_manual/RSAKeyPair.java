@@ -1,14 +1,49 @@
 import java.math.BigInteger;
+import java.util.Arrays;
 
 public class RSAKeyPair {
     private final BigInteger publicKeyE;
     private final BigInteger privateKeyD;
     private final BigInteger modulusN;
 
+    // CRT parts of the private key (null when the key only has (d, n))
+    private final BigInteger primeP;
+    private final BigInteger primeQ;
+    private final BigInteger exponentDP;      // dP = d mod (p - 1)
+    private final BigInteger exponentDQ;      // dQ = d mod (q - 1)
+    private final BigInteger coefficientQInv; // qInv = q^-1 mod p
+
+    // RFC 8017 OtherPrimeInfo for multi-prime keys (empty for two-prime keys)
+    private final BigInteger[] otherPrimes;       // r_3 ... r_u
+    private final BigInteger[] otherExponents;    // d_i = d mod (r_i - 1)
+    private final BigInteger[] otherCoefficients; // t_i = (r_1 × ... × r_(i-1))^-1 mod r_i
+
     public RSAKeyPair(BigInteger e, BigInteger d, BigInteger n) {
+        this(e, d, n, null, null, null, null, null);
+    }
+
+    public RSAKeyPair(BigInteger e, BigInteger d, BigInteger n,
+                      BigInteger p, BigInteger q, BigInteger dP, BigInteger dQ, BigInteger qInv) {
+        this(e, d, n, p, q, dP, dQ, qInv, new BigInteger[0], new BigInteger[0], new BigInteger[0]);
+    }
+
+    public RSAKeyPair(BigInteger e, BigInteger d, BigInteger n,
+                      BigInteger p, BigInteger q, BigInteger dP, BigInteger dQ, BigInteger qInv,
+                      BigInteger[] r, BigInteger[] dR, BigInteger[] t) {
+        if (r.length != dR.length || r.length != t.length) {
+            throw new IllegalArgumentException("Error: other prime info arrays must have the same length.");
+        }
         this.publicKeyE = e;
         this.privateKeyD = d;
         this.modulusN = n;
+        this.primeP = p;
+        this.primeQ = q;
+        this.exponentDP = dP;
+        this.exponentDQ = dQ;
+        this.coefficientQInv = qInv;
+        this.otherPrimes = r.clone();
+        this.otherExponents = dR.clone();
+        this.otherCoefficients = t.clone();
     }
 
     public BigInteger get_publicKeyE(){
@@ -20,4 +55,64 @@ public class RSAKeyPair {
     public BigInteger get_modulusN(){
         return modulusN;
     }
+    public BigInteger get_primeP(){
+        return primeP;
+    }
+    public BigInteger get_primeQ(){
+        return primeQ;
+    }
+    public BigInteger get_exponentDP(){
+        return exponentDP;
+    }
+    public BigInteger get_exponentDQ(){
+        return exponentDQ;
+    }
+    public BigInteger get_coefficientQInv(){
+        return coefficientQInv;
+    }
+    public BigInteger[] get_otherPrimes(){
+        return otherPrimes.clone();
+    }
+    public BigInteger[] get_otherExponents(){
+        return otherExponents.clone();
+    }
+    public BigInteger[] get_otherCoefficients(){
+        return otherCoefficients.clone();
+    }
+    public int get_primeCount(){
+        return hasCRT() ? 2 + otherPrimes.length : 0;
+    }
+
+    // Flat form for KeyRing: e, d, n, p, q, dP, dQ, qInv, then r_i, d_i, t_i for each other prime
+    public BigInteger[] toComponents(){
+        int u = otherPrimes.length;
+        BigInteger[] components = new BigInteger[8 + 3 * u];
+        components[0] = publicKeyE;
+        components[1] = privateKeyD;
+        components[2] = modulusN;
+        components[3] = primeP;
+        components[4] = primeQ;
+        components[5] = exponentDP;
+        components[6] = exponentDQ;
+        components[7] = coefficientQInv;
+        System.arraycopy(otherPrimes, 0, components, 8, u);
+        System.arraycopy(otherExponents, 0, components, 8 + u, u);
+        System.arraycopy(otherCoefficients, 0, components, 8 + 2 * u, u);
+        return components;
+    }
+    public static RSAKeyPair fromComponents(BigInteger[] components){
+        if (components.length < 8 || (components.length - 8) % 3 != 0) {
+            throw new IllegalArgumentException("Error: not an RSA component list → " + components.length + " components");
+        }
+        int u = (components.length - 8) / 3;
+        return new RSAKeyPair(components[0], components[1], components[2],
+                components[3], components[4], components[5], components[6], components[7],
+                Arrays.copyOfRange(components, 8, 8 + u),
+                Arrays.copyOfRange(components, 8 + u, 8 + 2 * u),
+                Arrays.copyOfRange(components, 8 + 2 * u, 8 + 3 * u));
+    }
+
+    public boolean hasCRT(){
+        return primeP != null && primeQ != null && exponentDP != null && exponentDQ != null && coefficientQInv != null;
+    }
 }
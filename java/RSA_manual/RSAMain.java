@@ -13,7 +13,7 @@ public class RSAMain {
         }
 
         BigInteger ciphertext = RSAEncryptor.encrypt(plaintext, keyPair.get_publicKeyE(), keyPair.get_modulusN());
-        BigInteger decrypted = RSAEncryptor.decrypt(ciphertext, keyPair.get_privateKeyD(), keyPair.get_modulusN());
+        BigInteger decrypted = RSAEncryptor.decrypt(ciphertext, keyPair); // CRT path: p, q, dP, dQ, qInv
 
         String result = RSAEncryptor.bigIntToString(decrypted);
 
@@ -0,0 +1,390 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * Calls into the project classes, which live in the default package.
+ * <p>
+ * JMH only accepts benchmarks in a named package, and a named package cannot import from the default one.
+ * Every project method used by the benchmarks is therefore resolved once by name into a {@link MethodHandle}
+ * held in a {@code static final} field; the JIT treats such handles as constants and inlines through them,
+ * so the bridge adds no measurable cost to the benchmarked call.
+ */
+final class Bridge {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private static final Class<?> RSA_KEY_PAIR = load("RSAKeyPair");
+    private static final Class<?> ELGAMAL_KEY_PAIR = load("ELGamalKeyPair");
+    private static final Class<?> EC_ELGAMAL_KEY_PAIR = load("ECElGamalKeyPair");
+    private static final Class<?> FAST_ECDSA_SIGNER = load("FastECDSASigner");
+
+    // Manual RSA
+    private static final MethodHandle RSA_GENERATE = findStatic("RSAGenerator", "generateKeyPair", RSA_KEY_PAIR, int.class, int.class);
+    private static final MethodHandle RSA_ENCRYPT = findStatic("RSAEncryptor", "encrypt", BigInteger.class, BigInteger.class, BigInteger.class, BigInteger.class);
+    private static final MethodHandle RSA_DECRYPT = findStatic("RSAEncryptor", "decrypt", BigInteger.class, BigInteger.class, RSA_KEY_PAIR);
+    private static final MethodHandle RSA_SIGN = findStatic("RSAEncryptor", "sign", BigInteger.class, BigInteger.class, RSA_KEY_PAIR);
+    private static final MethodHandle RSA_VERIFY = findStatic("RSAEncryptor", "verify", boolean.class, BigInteger.class, BigInteger.class, BigInteger.class, BigInteger.class);
+    private static final MethodHandle RSA_E = findGetter(RSA_KEY_PAIR, "get_publicKeyE");
+    private static final MethodHandle RSA_N = findGetter(RSA_KEY_PAIR, "get_modulusN");
+
+    // Manual ElGamal
+    private static final MethodHandle ELGAMAL_GENERATE = findStatic("ELGamalGenerator", "generatorKeyPair", ELGAMAL_KEY_PAIR, int.class);
+    private static final MethodHandle ELGAMAL_ENCRYPT = findStatic("ELGamalEncryptor", "encrypt", BigInteger[].class, BigInteger.class, BigInteger.class, BigInteger.class, BigInteger.class);
+    private static final MethodHandle ELGAMAL_DECRYPT = findStatic("ELGamalEncryptor", "decrypt", BigInteger.class, BigInteger[].class, BigInteger.class, BigInteger.class);
+    private static final MethodHandle ELGAMAL_P = findGetter(ELGAMAL_KEY_PAIR, "get_primeP");
+    private static final MethodHandle ELGAMAL_G = findGetter(ELGAMAL_KEY_PAIR, "get_generatorG");
+    private static final MethodHandle ELGAMAL_Y = findGetter(ELGAMAL_KEY_PAIR, "get_publicKeyY");
+    private static final MethodHandle ELGAMAL_X = findGetter(ELGAMAL_KEY_PAIR, "get_privateKeyX");
+
+    // Manual EC-ElGamal
+    private static final MethodHandle EC_ELGAMAL_GENERATE = findStatic("ECElGamalGenerator", "generatorKeyPair", EC_ELGAMAL_KEY_PAIR, String.class);
+    private static final MethodHandle EC_ELGAMAL_ENCRYPT = findStatic("ECElGamalEncryptor", "encrypt", ECPoint[].class, BigInteger.class, ECDomainParameters.class, ECPoint.class);
+    private static final MethodHandle EC_ELGAMAL_DECRYPT = findStatic("ECElGamalEncryptor", "decrypt", BigInteger.class, ECPoint[].class, BigInteger.class);
+    private static final MethodHandle EC_ELGAMAL_DOMAIN = findGetter(EC_ELGAMAL_KEY_PAIR, "get_domain", ECDomainParameters.class);
+    private static final MethodHandle EC_ELGAMAL_Y = findGetter(EC_ELGAMAL_KEY_PAIR, "get_publicKeyY", ECPoint.class);
+    private static final MethodHandle EC_ELGAMAL_X = findGetter(EC_ELGAMAL_KEY_PAIR, "get_privateKeyX");
+
+    // JCA + Bouncy Castle (stateless instances, bound once)
+    private static final MethodHandle BOUNCY_CASTLE = findStatic("CryptoUtils", "bouncyCastle", Provider.class);
+    private static final MethodHandle JCA_RSA_GENERATE = findBound("CryptoUtils", "generateRSAKeyPair", KeyPair.class);
+    private static final MethodHandle JCA_EC_GENERATE = findBound("CryptoUtils", "generateECDSAKeyPair", KeyPair.class);
+    private static final MethodHandle OAEP_ENCRYPT = findBound("RSAEncrypt", "encryptMessage", byte[].class, byte[].class, KeyPair.class);
+    private static final MethodHandle OAEP_DECRYPT = findBound("RSAEncrypt", "decryptMessage", byte[].class, byte[].class, KeyPair.class);
+    private static final MethodHandle PKCS1_SIGN = findBound("RSASignature", "defaultSignature", byte[].class, byte[].class, PrivateKey.class);
+    private static final MethodHandle PKCS1_VERIFY = findBound("RSASignature", "verifyDefaultSignature", boolean.class, byte[].class, byte[].class, PublicKey.class);
+    private static final MethodHandle PSS_SIGN = findBound("RSASignature", "modernSignature", byte[].class, byte[].class, PrivateKey.class);
+    private static final MethodHandle PSS_VERIFY = findBound("RSASignature", "verifyModernSignature", boolean.class, byte[].class, byte[].class, PublicKey.class);
+    private static final MethodHandle ECDSA_SIGN = findBound("ECDSASignature", "signature", byte[].class, byte[].class, PrivateKey.class);
+    private static final MethodHandle ECDSA_VERIFY = findBound("ECDSASignature", "verifySignature", boolean.class, byte[].class, byte[].class, PublicKey.class);
+    private static final MethodHandle FAST_SIGNER = findConstructor(FAST_ECDSA_SIGNER, PrivateKey.class, String.class);
+    private static final MethodHandle FAST_SIGN = findVirtual(FAST_ECDSA_SIGNER, "sign", byte[].class, byte[].class);
+
+    private Bridge() {
+    }
+
+    static Object rsaGenerate(int bits, int primes) {
+        try {
+            return (Object) RSA_GENERATE.invokeExact(bits, primes);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger rsaEncrypt(BigInteger message, BigInteger e, BigInteger n) {
+        try {
+            return (BigInteger) RSA_ENCRYPT.invokeExact(message, e, n);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger rsaDecrypt(BigInteger cipher, Object keyPair) {
+        try {
+            return (BigInteger) RSA_DECRYPT.invokeExact(cipher, keyPair);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger rsaSign(BigInteger message, Object keyPair) {
+        try {
+            return (BigInteger) RSA_SIGN.invokeExact(message, keyPair);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static boolean rsaVerify(BigInteger message, BigInteger signature, BigInteger e, BigInteger n) {
+        try {
+            return (boolean) RSA_VERIFY.invokeExact(message, signature, e, n);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger rsaPublicExponent(Object keyPair) {
+        return get(RSA_E, keyPair);
+    }
+
+    static BigInteger rsaModulus(Object keyPair) {
+        return get(RSA_N, keyPair);
+    }
+
+    static Object elgamalGenerate(int bits) {
+        try {
+            return (Object) ELGAMAL_GENERATE.invokeExact(bits);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger[] elgamalEncrypt(BigInteger message, BigInteger p, BigInteger g, BigInteger y) {
+        try {
+            return (BigInteger[]) ELGAMAL_ENCRYPT.invokeExact(message, p, g, y);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger elgamalDecrypt(BigInteger[] cipher, BigInteger p, BigInteger x) {
+        try {
+            return (BigInteger) ELGAMAL_DECRYPT.invokeExact(cipher, p, x);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger elgamalPrime(Object keyPair) {
+        return get(ELGAMAL_P, keyPair);
+    }
+
+    static BigInteger elgamalGenerator(Object keyPair) {
+        return get(ELGAMAL_G, keyPair);
+    }
+
+    static BigInteger elgamalPublic(Object keyPair) {
+        return get(ELGAMAL_Y, keyPair);
+    }
+
+    static BigInteger elgamalPrivate(Object keyPair) {
+        return get(ELGAMAL_X, keyPair);
+    }
+
+    static Object ecElgamalGenerate(String curve) {
+        try {
+            return (Object) EC_ELGAMAL_GENERATE.invokeExact(curve);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static ECPoint[] ecElgamalEncrypt(BigInteger message, ECDomainParameters domain, ECPoint y) {
+        try {
+            return (ECPoint[]) EC_ELGAMAL_ENCRYPT.invokeExact(message, domain, y);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger ecElgamalDecrypt(ECPoint[] cipher, BigInteger x) {
+        try {
+            return (BigInteger) EC_ELGAMAL_DECRYPT.invokeExact(cipher, x);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static ECDomainParameters ecElgamalDomain(Object keyPair) {
+        try {
+            return (ECDomainParameters) EC_ELGAMAL_DOMAIN.invokeExact(keyPair);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static ECPoint ecElgamalPublic(Object keyPair) {
+        try {
+            return (ECPoint) EC_ELGAMAL_Y.invokeExact(keyPair);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static BigInteger ecElgamalPrivate(Object keyPair) {
+        return get(EC_ELGAMAL_X, keyPair);
+    }
+
+    static Provider bouncyCastle() {
+        try {
+            return (Provider) BOUNCY_CASTLE.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static KeyPair jcaRsaGenerate() {
+        try {
+            return (KeyPair) JCA_RSA_GENERATE.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static KeyPair jcaEcGenerate() {
+        try {
+            return (KeyPair) JCA_EC_GENERATE.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static byte[] oaepEncrypt(byte[] message, KeyPair keyPair) {
+        return bytes(OAEP_ENCRYPT, message, keyPair);
+    }
+
+    static byte[] oaepDecrypt(byte[] cipher, KeyPair keyPair) {
+        return bytes(OAEP_DECRYPT, cipher, keyPair);
+    }
+
+    static byte[] pkcs1Sign(byte[] message, PrivateKey key) {
+        return sign(PKCS1_SIGN, message, key);
+    }
+
+    static boolean pkcs1Verify(byte[] message, byte[] signature, PublicKey key) {
+        return verify(PKCS1_VERIFY, message, signature, key);
+    }
+
+    static byte[] pssSign(byte[] message, PrivateKey key) {
+        return sign(PSS_SIGN, message, key);
+    }
+
+    static boolean pssVerify(byte[] message, byte[] signature, PublicKey key) {
+        return verify(PSS_VERIFY, message, signature, key);
+    }
+
+    static byte[] ecdsaSign(byte[] message, PrivateKey key) {
+        return sign(ECDSA_SIGN, message, key);
+    }
+
+    static boolean ecdsaVerify(byte[] message, byte[] signature, PublicKey key) {
+        return verify(ECDSA_VERIFY, message, signature, key);
+    }
+
+    static Object fastSigner(PrivateKey key, String curve) {
+        try {
+            return (Object) FAST_SIGNER.invokeExact(key, curve);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static byte[] fastSign(Object signer, byte[] message) {
+        try {
+            return (byte[]) FAST_SIGN.invokeExact(signer, message);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Shared shapes: the handle differs, the exact type does not
+
+    private static BigInteger get(MethodHandle getter, Object keyPair) {
+        try {
+            return (BigInteger) getter.invokeExact(keyPair);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static byte[] bytes(MethodHandle handle, byte[] input, KeyPair keyPair) {
+        try {
+            return (byte[]) handle.invokeExact(input, keyPair);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static byte[] sign(MethodHandle handle, byte[] message, PrivateKey key) {
+        try {
+            return (byte[]) handle.invokeExact(message, key);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static boolean verify(MethodHandle handle, byte[] message, byte[] signature, PublicKey key) {
+        try {
+            return (boolean) handle.invokeExact(message, signature, key);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Lookup helpers: project types in a signature are widened to Object so callers never name them
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Project class not on the classpath: " + name, e);
+        }
+    }
+
+    private static MethodHandle findStatic(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = LOOKUP.findStatic(load(owner), name, MethodType.methodType(returnType, parameterTypes));
+            return handle.asType(MethodType.methodType(erase(returnType), erase(parameterTypes)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing " + owner + "." + name, e);
+        }
+    }
+
+    private static MethodHandle findGetter(Class<?> owner, String name) {
+        return findGetter(owner, name, BigInteger.class);
+    }
+
+    private static MethodHandle findGetter(Class<?> owner, String name, Class<?> type) {
+        try {
+            MethodHandle handle = LOOKUP.findVirtual(owner, name, MethodType.methodType(type));
+            return handle.asType(MethodType.methodType(type, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing " + owner.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> owner, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = LOOKUP.findConstructor(owner, MethodType.methodType(void.class, parameterTypes));
+            return handle.asType(MethodType.methodType(Object.class, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing " + owner.getName() + " constructor", e);
+        }
+    }
+
+    private static MethodHandle findVirtual(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = LOOKUP.findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+            return handle.asType(MethodType.methodType(returnType, Object.class).appendParameterTypes(parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing " + owner.getName() + "." + name, e);
+        }
+    }
+
+    // Instance method on a fresh instance made with the public no-arg constructor
+    private static MethodHandle findBound(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            Class<?> type = load(owner);
+            Object instance = LOOKUP.findConstructor(type, MethodType.methodType(void.class)).invoke();
+            return LOOKUP.findVirtual(type, name, MethodType.methodType(returnType, parameterTypes)).bindTo(instance);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Missing " + owner + "." + name, e);
+        }
+    }
+
+    private static Class<?> erase(Class<?> type) {
+        return type == RSA_KEY_PAIR || type == ELGAMAL_KEY_PAIR || type == EC_ELGAMAL_KEY_PAIR ? Object.class : type;
+    }
+
+    private static Class<?>[] erase(Class<?>[] types) {
+        Class<?>[] erased = new Class<?>[types.length];
+        for (int i = 0; i < types.length; i++) {
+            erased[i] = erase(types[i]);
+        }
+        return erased;
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);                                         // Checked crypto exceptions: a broken setup
+    }
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ECDSA with SHA-256 through {@code ECDSASignature} (Bouncy Castle provider): keygen, sign and verify per curve.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ECDSABenchmark {
+
+    @Param({"secp256k1", "secp256r1", "secp384r1"})
+    String curve;
+
+    private KeyPairGenerator generator;
+    private KeyPair keyPair;
+    private byte[] message;
+    private byte[] signature;
+    private Object fastSigner;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        generator = KeyPairGenerator.getInstance("EC", Bridge.bouncyCastle());
+        generator.initialize(new ECGenParameterSpec(curve), new SecureRandom());
+        keyPair = generator.generateKeyPair();
+        message = new byte[32];
+        new SecureRandom().nextBytes(message);
+        signature = Bridge.ecdsaSign(message, keyPair.getPrivate());
+        fastSigner = Bridge.fastSigner(keyPair.getPrivate(), curve);
+    }
+
+    @Benchmark
+    public KeyPair keygen() {
+        return generator.generateKeyPair();
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return Bridge.ecdsaSign(message, keyPair.getPrivate());
+    }
+
+    // Key-bound signer with the fixed-base window table (FastECDSASigner)
+    @Benchmark
+    public byte[] fastSign() {
+        return Bridge.fastSign(fastSigner, message);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return Bridge.ecdsaVerify(message, signature, keyPair.getPublic());
+    }
+}
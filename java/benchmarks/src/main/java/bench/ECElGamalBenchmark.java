@@ -0,0 +1,65 @@
+package bench;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Manual EC-ElGamal ({@code ECElGamalEncryptor}) per curve, the counterpart of {@link ManualElGamalBenchmark}:
+ * secp224r1 matches the 2048-bit group, secp256k1 and secp256r1 the 3072-bit group in security.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ECElGamalBenchmark {
+
+    @Param({"secp224r1", "secp256k1", "secp256r1", "secp384r1"})
+    String curve;
+
+    private ECDomainParameters domain;
+    private ECPoint y;
+    private BigInteger x;
+    private BigInteger message;
+    private ECPoint[] cipher;
+
+    @Setup
+    public void setUp() {
+        Object keyPair = Bridge.ecElgamalGenerate(curve);
+        domain = Bridge.ecElgamalDomain(keyPair);
+        y = Bridge.ecElgamalPublic(keyPair);
+        x = Bridge.ecElgamalPrivate(keyPair);
+        message = new BigInteger(domain.getCurve().getFieldSize() - 16, new SecureRandom());
+        cipher = Bridge.ecElgamalEncrypt(message, domain, y);
+    }
+
+    @Benchmark
+    public Object keygen() {
+        return Bridge.ecElgamalGenerate(curve);
+    }
+
+    @Benchmark
+    public ECPoint[] encrypt() {
+        return Bridge.ecElgamalEncrypt(message, domain, y);
+    }
+
+    @Benchmark
+    public BigInteger decrypt() {
+        return Bridge.ecElgamalDecrypt(cipher, x);
+    }
+}
@@ -0,0 +1,65 @@
+package bench;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Manual ElGamal ({@code ELGamalEncryptor}) on the stored standard groups: keygen, encrypt and decrypt per group size.
+ * Keygen reuses the stored group, so it measures x and g^x only, never the safe-prime search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ManualElGamalBenchmark {
+
+    @Param({"2048", "3072", "4096"})
+    int bits;
+
+    private BigInteger p;
+    private BigInteger g;
+    private BigInteger y;
+    private BigInteger x;
+    private BigInteger message;
+    private BigInteger[] cipher;
+
+    @Setup
+    public void setUp() {
+        Object keyPair = Bridge.elgamalGenerate(bits);
+        p = Bridge.elgamalPrime(keyPair);
+        g = Bridge.elgamalGenerator(keyPair);
+        y = Bridge.elgamalPublic(keyPair);
+        x = Bridge.elgamalPrivate(keyPair);
+        message = new BigInteger(bits - 2, new SecureRandom());
+        cipher = Bridge.elgamalEncrypt(message, p, g, y);
+    }
+
+    @Benchmark
+    public Object keygen() {
+        return Bridge.elgamalGenerate(bits);
+    }
+
+    @Benchmark
+    public BigInteger[] encrypt() {
+        return Bridge.elgamalEncrypt(message, p, g, y);
+    }
+
+    @Benchmark
+    public BigInteger decrypt() {
+        return Bridge.elgamalDecrypt(cipher, p, x);
+    }
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Manual RSA ({@code RSAEncryptor}): public and private operations per modulus size and prime count.
+ * Private operations use the CRT (multi-prime for k = 3) with the fault check included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ManualRSABenchmark {
+
+    @Param({"1024", "2048", "3072", "4096"})
+    int bits;
+
+    @Param({"2", "3"})
+    int primes;
+
+    private Object keyPair;
+    private BigInteger e;
+    private BigInteger n;
+    private BigInteger message;
+    private BigInteger cipher;
+    private BigInteger signature;
+
+    @Setup
+    public void setUp() {
+        keyPair = Bridge.rsaGenerate(bits, primes);
+        e = Bridge.rsaPublicExponent(keyPair);
+        n = Bridge.rsaModulus(keyPair);
+        message = new BigInteger(bits - 1, new SecureRandom());
+        cipher = Bridge.rsaEncrypt(message, e, n);
+        signature = Bridge.rsaSign(message, keyPair);
+    }
+
+    @Benchmark
+    public BigInteger encrypt() {
+        return Bridge.rsaEncrypt(message, e, n);
+    }
+
+    @Benchmark
+    public BigInteger decrypt() {
+        return Bridge.rsaDecrypt(cipher, keyPair);
+    }
+
+    @Benchmark
+    public BigInteger sign() {
+        return Bridge.rsaSign(message, keyPair);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return Bridge.rsaVerify(message, signature, e, n);
+    }
+}
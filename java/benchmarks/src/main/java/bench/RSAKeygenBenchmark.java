@@ -0,0 +1,54 @@
+package bench;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Two-prime RSA key generation: the manual sieved generator ({@code RSAGenerator}) against the JCA one.
+ * A single key takes up to a second at 4096 bits and its time varies a lot with the prime gaps,
+ * so iterations are long and the error bars stay wide.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RSAKeygenBenchmark {
+
+    @Param({"2048", "3072", "4096"})
+    int bits;
+
+    private KeyPairGenerator generator;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(new RSAKeyGenParameterSpec(bits, RSAKeyGenParameterSpec.F4), new SecureRandom());
+    }
+
+    @Benchmark
+    public Object manual() {
+        return Bridge.rsaGenerate(bits, 2);
+    }
+
+    @Benchmark
+    public KeyPair jca() {
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,221 @@
+package bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the whole suite at 1, 2, 4 and all cores with the GC profiler, writes one CSV row per
+ * (benchmark, parameters, threads) and compares it against a saved baseline.
+ *
+ * <pre>
+ *   java -cp target/benchmarks.jar bench.SuiteRunner                      # run, compare with baseline/baseline.csv
+ *   java -cp target/benchmarks.jar bench.SuiteRunner --save-baseline       # run, then replace the baseline
+ *   java -cp target/benchmarks.jar bench.SuiteRunner --include ECDSA --threads 1,4 --tolerance 0.15
+ * </pre>
+ *
+ * A row regresses when its time per operation grows by more than the tolerance (default 10%) beyond the
+ * combined error of both runs, or when its normalized allocation grows by more than the tolerance. The exit
+ * status is 1 on any regression, so the runner can gate a CI job on dedicated hardware.
+ */
+public final class SuiteRunner {
+
+    private static final String HEADER = "benchmark,params,threads,mode,score,error,unit,alloc_bytes_per_op";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = "bench\\..*Benchmark";
+        Path baseline = Paths.get("baseline", "baseline.csv");
+        Path output = Paths.get("target", "results.csv");
+        boolean saveBaseline = false;
+        double tolerance = 0.10;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threads = distinct(new int[]{1, 2, 4, cores}, cores);
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--include": include = args[++i]; break;
+                case "--baseline": baseline = Paths.get(args[++i]); break;
+                case "--output": output = Paths.get(args[++i]); break;
+                case "--tolerance": tolerance = Double.parseDouble(args[++i]); break;
+                case "--threads": threads = parseThreads(args[++i]); break;
+                case "--save-baseline": saveBaseline = true; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Map<String, Row> current = new LinkedHashMap<>();
+        for (int count : threads) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(count)
+                    .addProfiler(GCProfiler.class);
+            for (RunResult result : new Runner(options.build()).run()) {
+                Row row = Row.of(result);
+                current.put(row.key(), row);
+            }
+        }
+        write(output, current.values());
+        System.out.println("Results written to " + output.toAbsolutePath());
+
+        if (saveBaseline) {
+            write(baseline, current.values());
+            System.out.println("Baseline saved to " + baseline.toAbsolutePath());
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline.toAbsolutePath() + ", run with --save-baseline to record one");
+            return;
+        }
+        if (compare(read(baseline), current, tolerance) > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Prints every row with its change against the baseline; returns the number of regressions
+    static int compare(Map<String, Row> baseline, Map<String, Row> current, double tolerance) {
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%n%-60s %7s %12s %12s %8s %10s%n",
+                "benchmark [params] threads", "unit", "baseline", "current", "Δ time", "Δ alloc");
+        for (Row now : current.values()) {
+            Row before = baseline.get(now.key());
+            String label = now.benchmark + " [" + now.params + "] " + now.threads;
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-60s %7s %12s %12.3f %8s %10s%n", label, now.unit, "-", now.score, "new", "");
+                continue;
+            }
+            double timeChange = (now.score - before.score) / before.score;
+            boolean slower = now.score - now.error > before.score + before.error
+                    && timeChange > tolerance;
+            double allocChange = before.alloc > 0 ? (now.alloc - before.alloc) / before.alloc : 0;
+            boolean heavier = allocChange > tolerance && now.alloc - before.alloc > 64;   // Ignore a few stray objects
+            System.out.printf(Locale.ROOT, "%-60s %7s %12.3f %12.3f %+7.1f%% %+9.1f%%%s%n",
+                    label, now.unit, before.score, now.score, timeChange * 100, allocChange * 100,
+                    slower || heavier ? "  REGRESSION" : "");
+            if (slower || heavier) regressions++;
+        }
+        System.out.println(regressions == 0 ? "No regressions" : regressions + " regression(s)");
+        return regressions;
+    }
+
+    private static void write(Path file, Collection<Row> rows) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Row row : rows) {
+            lines.add(row.toCsv());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Row> read(Path file) {
+        Map<String, Row> rows = new TreeMap<>();
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.isBlank()) continue;
+                Row row = Row.parse(line);
+                rows.put(row.key(), row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read baseline " + file, e);
+        }
+        return rows;
+    }
+
+    private static int[] parseThreads(String list) {
+        String[] parts = list.split(",");
+        int[] threads = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            threads[i] = Integer.parseInt(parts[i].trim());
+        }
+        return threads;
+    }
+
+    // Drops counts above the core count and duplicates (e.g. 4 and cores on a 4-core machine)
+    private static int[] distinct(int[] counts, int cores) {
+        return Arrays.stream(counts).filter(c -> c <= cores).distinct().toArray();
+    }
+
+    static final class Row {
+        final String benchmark;
+        final String params;    // name=value pairs joined by ';', sorted by name
+        final int threads;
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+        final double alloc;     // gc.alloc.rate.norm in bytes/op, 0 when the profiler did not report it
+
+        Row(String benchmark, String params, int threads, String mode, double score, double error, String unit, double alloc) {
+            this.benchmark = benchmark;
+            this.params = params;
+            this.threads = threads;
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.alloc = alloc;
+        }
+
+        static Row of(RunResult run) {
+            BenchmarkParams params = run.getParams();
+            StringBuilder values = new StringBuilder();
+            for (String name : new TreeSet<>(params.getParamsKeys())) {
+                if (values.length() > 0) values.append(';');
+                values.append(name).append('=').append(params.getParam(name));
+            }
+            Result<?> primary = run.getPrimaryResult();
+            double error = Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError();
+            double alloc = 0;
+            for (Map.Entry<String, Result> secondary : run.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                    alloc = secondary.getValue().getScore();
+                }
+            }
+            String benchmark = params.getBenchmark();
+            benchmark = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            return new Row(benchmark, values.toString(), params.getThreads(), params.getMode().shortLabel(),
+                    primary.getScore(), error, primary.getScoreUnit(), alloc);
+        }
+
+        static Row parse(String line) {
+            String[] f = line.split(",", -1);
+            if (f.length != 8) {
+                throw new IllegalArgumentException("Malformed baseline row: " + line);
+            }
+            return new Row(f[0], f[1], Integer.parseInt(f[2]), f[3], Double.parseDouble(f[4]),
+                    Double.parseDouble(f[5]), f[6], Double.parseDouble(f[7]));
+        }
+
+        String key() {
+            return benchmark + "|" + params + "|" + threads + "|" + mode;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%s,%d,%s,%.6f,%.6f,%s,%.1f",
+                    benchmark, params, threads, mode, score, error, unit, alloc);
+        }
+    }
+}
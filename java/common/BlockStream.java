@@ -0,0 +1,149 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Streams data through a block cipher that only takes values below a modulus.
+// Input is cut into fixed-size blocks, transformed on a pool with bounded read-ahead, and written in order.
+//
+// Block encoding: m = 0x01 || data, with data = modulusBytes − 2 bytes, so 2^(8(k−2)) ≤ m < n (never 0 or 1).
+// The stream is padded once at the end (0x80 then zeros, ISO/IEC 7816-4), so the last block may be padding only.
+public class BlockStream {
+    private static final int PAD = 0x80;
+
+    public static void encrypt(InputStream in, OutputStream out, int dataBytes,
+                               Function<byte[], byte[]> encryptBlock, ExecutorService pool, int readAhead) throws IOException {
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        try {
+            encrypt(in, out, dataBytes, encryptBlock, pool, readAhead, pending);
+        } finally {
+            cancel(pending);
+        }
+    }
+
+    private static void encrypt(InputStream in, OutputStream out, int dataBytes, Function<byte[], byte[]> encryptBlock,
+                                ExecutorService pool, int readAhead, Deque<Future<byte[]>> pending) throws IOException {
+        boolean last = false;
+        while (!last) {
+            byte[] block = new byte[dataBytes];
+            int read = in.readNBytes(block, 0, dataBytes);
+            if (read < dataBytes) {
+                block[read] = (byte) PAD;   // Rest is already zero
+                last = true;
+            }
+            pending.add(pool.submit(() -> encryptBlock.apply(block)));
+            if (pending.size() >= readAhead) {
+                out.write(await(pending.poll()));
+            }
+        }
+        while (!pending.isEmpty()) {
+            out.write(await(pending.poll()));
+        }
+        out.flush();
+    }
+
+    public static void decrypt(InputStream in, OutputStream out, int cipherBytes,
+                               Function<byte[], byte[]> decryptBlock, ExecutorService pool, int readAhead) throws IOException {
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        try {
+            decrypt(in, out, cipherBytes, decryptBlock, pool, readAhead, pending);
+        } finally {
+            cancel(pending);
+        }
+    }
+
+    private static void decrypt(InputStream in, OutputStream out, int cipherBytes, Function<byte[], byte[]> decryptBlock,
+                                ExecutorService pool, int readAhead, Deque<Future<byte[]>> pending) throws IOException {
+        byte[] held = null;   // Last decrypted block is held back: only it carries the padding
+        while (true) {
+            byte[] block = in.readNBytes(cipherBytes);
+            if (block.length == 0) break;
+            if (block.length < cipherBytes) {
+                throw new EOFException("Truncated ciphertext: " + block.length + " of " + cipherBytes + " bytes in the last block.");
+            }
+            pending.add(pool.submit(() -> decryptBlock.apply(block)));
+            if (pending.size() >= readAhead) {
+                if (held != null) out.write(held);
+                held = await(pending.poll());
+            }
+        }
+        while (!pending.isEmpty()) {
+            if (held != null) out.write(held);
+            held = await(pending.poll());
+        }
+        if (held == null) {
+            throw new EOFException("Empty ciphertext: missing padding block.");
+        }
+        out.write(held, 0, unpaddedLength(held));
+        out.flush();
+    }
+
+    // m = 0x01 || data
+    public static BigInteger encode(byte[] data) {
+        byte[] prefixed = new byte[data.length + 1];
+        prefixed[0] = 0x01;
+        System.arraycopy(data, 0, prefixed, 1, data.length);
+        return new BigInteger(1, prefixed);
+    }
+
+    public static byte[] decode(BigInteger value, int dataBytes) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length != dataBytes + 1 || bytes[0] != 0x01) {
+            throw new UncheckedIOException(new IOException("Corrupted block: bad block encoding."));
+        }
+        return Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+
+    // Unsigned big-endian, left-padded with zeros to exactly width bytes
+    public static byte[] toFixedWidth(BigInteger value, int width) {
+        byte[] bytes = value.toByteArray();
+        int start = bytes.length > width ? bytes.length - width : 0;   // Drop the sign byte
+        byte[] out = new byte[width];
+        System.arraycopy(bytes, start, out, width - (bytes.length - start), bytes.length - start);
+        return out;
+    }
+
+    public static int modulusBytes(BigInteger modulus) {
+        return (modulus.bitLength() + 7) / 8;
+    }
+
+    private static int unpaddedLength(byte[] block) throws IOException {
+        int i = block.length - 1;
+        while (i >= 0 && block[i] == 0) i--;
+        if (i < 0 || (block[i] & 0xFF) != PAD) {
+            throw new IOException("Corrupted stream: bad padding.");
+        }
+        return i;
+    }
+
+    private static void cancel(Deque<Future<byte[]>> pending) {
+        // Only non-empty after a failure: stop the blocks still queued
+        for (Future<byte[]> future : pending) {
+            future.cancel(true);
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a block.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Block transform failed.", e.getCause());
+        }
+    }
+}
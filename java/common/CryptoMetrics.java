@@ -0,0 +1,272 @@
+import java.lang.management.ManagementFactory;
+import java.security.Key;
+import java.security.interfaces.DSAKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.interfaces.DHKey;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Always-on latency and throughput counters per (operation, algorithm, key size).
+// A sample is one System.nanoTime() pair: counters are LongAdders (striped per thread), latencies go into a
+// log-linear histogram (8 buckets per power of two, ≤ 12.5% error), nothing is allocated. The histogram is striped
+// too: each thread counts into one of up to 8 copies, chosen by thread id, and percentiles sum the copies.
+// Every series is exported as an MXBean under crypto:type=CryptoMetrics,... and printed by dump().
+//
+// Usage: keep the Operation in a static field, then
+//   long start = System.nanoTime();
+//   ... work ...
+//   DECRYPT.record(bits, start);
+public class CryptoMetrics {
+    private static final System.Logger LOG = System.getLogger(CryptoMetrics.class.getName());
+    private static final Map<String, Map<String, Operation>> OPERATIONS = new ConcurrentHashMap<>();
+    private static final boolean JMX = !"false".equalsIgnoreCase(System.getProperty("crypto.metrics.jmx"));
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("crypto.metrics"));
+
+    // Histogram layout: values 0..7 get one bucket each, then 8 sub-buckets per power of two up to 2^63
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    // Histogram copies per series, a power of two up to 8: 3.8 KiB each
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+
+    // Same (name, algorithm) always returns the same Operation; the lookup itself does not allocate
+    public static Operation operation(String name, String algorithm) {
+        Map<String, Operation> byAlgorithm = OPERATIONS.get(name);
+        if (byAlgorithm == null) {
+            byAlgorithm = OPERATIONS.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+        }
+        Operation operation = byAlgorithm.get(algorithm);
+        if (operation == null) {
+            operation = byAlgorithm.computeIfAbsent(algorithm, key -> new Operation(name, key));
+        }
+        return operation;
+    }
+
+    // Modulus size for RSA/DSA/DH keys, group order size for EC keys, 0 when unknown
+    public static int keyBits(Key key) {
+        if (key instanceof RSAKey) return ((RSAKey) key).getModulus().bitLength();
+        if (key instanceof ECKey) return ((ECKey) key).getParams().getOrder().bitLength();
+        if (key instanceof DSAKey) return ((DSAKey) key).getParams().getP().bitLength();
+        if (key instanceof DHKey) return ((DHKey) key).getParams().getP().bitLength();
+        return 0;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Every series, ordered by operation, algorithm and key size
+    public static List<Stats> snapshot() {
+        List<Stats> all = new ArrayList<>();
+        for (Map<String, Operation> byAlgorithm : OPERATIONS.values()) {
+            for (Operation operation : byAlgorithm.values()) {
+                all.addAll(Arrays.asList(operation.series));
+            }
+        }
+        all.sort(Comparator.comparing((Stats s) -> s.operation)
+                .thenComparing(s -> s.algorithm)
+                .thenComparingInt(s -> s.bits));
+        return all;
+    }
+
+    public static void reset() {
+        for (Stats stats : snapshot()) {
+            stats.reset();
+        }
+    }
+
+    public static String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-9s %-38s %6s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "algorithm", "bits", "count", "failures", "ops/s", "mean µs", "p50 µs", "p99 µs", "p99.9 µs", "max µs"));
+        for (Stats s : snapshot()) {
+            out.append(String.format("%-9s %-38s %6d %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    s.operation, s.algorithm, s.bits, s.getCount(), s.getFailures(), s.getThroughputPerSecond(),
+                    s.getMeanMicros(), s.getP50Micros(), s.getP99Micros(), s.getP999Micros(), s.getMaxMicros()));
+        }
+        return out.toString();
+    }
+
+    // Bucket index of a latency: exact below 8 ns, then the top 4 significant bits
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);                 // ≥ 3
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Largest latency that lands in a bucket
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+
+    // One operation on one algorithm; one Stats per key size, kept in a small copy-on-write array
+    public static class Operation {
+        private final String name;
+        private final String algorithm;
+        private volatile Stats[] series = new Stats[0];
+
+        private Operation(String name, String algorithm) {
+            this.name = name;
+            this.algorithm = algorithm;
+        }
+
+        public void record(int bits, long startNanos) {
+            if (!enabled) return;
+            stats(bits).add(System.nanoTime() - startNanos);
+        }
+
+        public void failure(int bits) {
+            if (!enabled) return;
+            stats(bits).failures.increment();
+        }
+
+        public Stats stats(int bits) {
+            for (Stats stats : series) {   // A handful of key sizes at most: a scan beats a map
+                if (stats.bits == bits) return stats;
+            }
+            return create(bits);
+        }
+
+        private synchronized Stats create(int bits) {
+            for (Stats stats : series) {
+                if (stats.bits == bits) return stats;
+            }
+            Stats stats = new Stats(name, algorithm, bits);
+            Stats[] grown = Arrays.copyOf(series, series.length + 1);
+            grown[series.length] = stats;
+            series = grown;
+            if (JMX) stats.register();
+            return stats;
+        }
+    }
+
+    public interface StatsMXBean {
+        String getOperation();
+        String getAlgorithm();
+        int getBits();
+        long getCount();
+        long getFailures();
+        double getThroughputPerSecond();
+        double getMeanMicros();
+        double getP50Micros();
+        double getP90Micros();
+        double getP99Micros();
+        double getP999Micros();
+        double getMaxMicros();
+        void reset();
+    }
+
+    public static class Stats implements StatsMXBean {
+        private final String operation;
+        private final String algorithm;
+        private final int bits;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(STRIPES * BUCKETS);   // STRIPES histograms back to back
+        private volatile long sinceNanos = System.nanoTime();
+
+        private Stats(String operation, String algorithm, int bits) {
+            this.operation = operation;
+            this.algorithm = algorithm;
+            this.bits = bits;
+        }
+
+        private void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets.incrementAndGet(stripe() * BUCKETS + bucket(nanos));
+        }
+
+        // Fixed per thread, so concurrent recorders on different cores mostly hit different histograms
+        private static int stripe() {
+            return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1);
+        }
+
+        // Upper bound of the bucket holding the q-quantile, in nanoseconds (0 when empty)
+        public long percentileNanos(double q) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < STRIPES * BUCKETS; i++) {
+                long n = buckets.get(i);
+                snapshot[i % BUCKETS] += n;
+                total += n;
+            }
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+            return maxNanos.get();
+        }
+
+        @Override public String getOperation() { return operation; }
+        @Override public String getAlgorithm() { return algorithm; }
+        @Override public int getBits() { return bits; }
+        @Override public long getCount() { return count.sum(); }
+        @Override public long getFailures() { return failures.sum(); }
+        @Override public double getThroughputPerSecond() {
+            double seconds = (System.nanoTime() - sinceNanos) / 1e9;
+            return seconds > 0 ? count.sum() / seconds : 0;
+        }
+        @Override public double getMeanMicros() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1e3 / n;
+        }
+        @Override public double getP50Micros() { return percentileNanos(0.50) / 1e3; }
+        @Override public double getP90Micros() { return percentileNanos(0.90) / 1e3; }
+        @Override public double getP99Micros() { return percentileNanos(0.99) / 1e3; }
+        @Override public double getP999Micros() { return percentileNanos(0.999) / 1e3; }
+        @Override public double getMaxMicros() { return maxNanos.get() / 1e3; }
+
+        // Not atomic with concurrent samples: a sample racing the reset may survive it
+        @Override public void reset() {
+            count.reset();
+            failures.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < STRIPES * BUCKETS; i++) buckets.set(i, 0);
+            sinceNanos = System.nanoTime();
+        }
+
+        private void register() {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName("crypto:type=CryptoMetrics,operation=" + ObjectName.quote(operation)
+                        + ",algorithm=" + ObjectName.quote(algorithm) + ",bits=" + bits);
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(this, name);
+                }
+            } catch (JMException | RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Could not export crypto metrics to JMX", e);   // Metrics still work locally
+            }
+        }
+    }
+}
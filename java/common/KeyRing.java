@@ -0,0 +1,356 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.Provider;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.function.Function;
+
+// Read-only key file, memory-mapped and decoded lazily: opening costs the same for 10 keys or 100 000.
+// Nothing is parsed up front; a lookup binary-searches the id index inside the mapping, decodes that one entry
+// and keeps it in a small StripedLruCache, so only hot keys live on the heap.
+//
+// Layout (big-endian):
+//   header  "KRNG" | version int | count int | indexOffset long
+//   entries type byte | length int | payload
+//   index   count × (id long, entryOffset long), sorted by id
+// Component payload (RSA, ElGamal): count short | count × (length int, two's complement bytes), length −1 for null
+// JCA payload: algorithm (length short, UTF-8) | X.509 public key (length int, bytes) | PKCS#8 private key (length int, bytes)
+public class KeyRing implements AutoCloseable {
+    public static final byte RSA = 1;       // RSAKeyPair.toComponents()
+    public static final byte ELGAMAL = 2;   // ELGamalKeyPair.toComponents()
+    public static final byte JCA = 3;       // java.security.KeyPair
+
+    private static final int MAGIC = 0x4B524E47;   // "KRNG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final int INDEX_ENTRY_BYTES = 16;
+    private static final int STRIPES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int count;
+    private final int indexOffset;
+    private final StripedLruCache<Long, Cached> cache;
+
+    // Only the header is read here; the entries stay on disk (page cache) until first use
+    private KeyRing(Path file, int cachedKeys) throws IOException {
+        if (cachedKeys < 1) {
+            throw new IllegalArgumentException("Error: cache must hold at least one key → " + cachedKeys);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < HEADER_BYTES) {
+                throw new IOException("Not a key ring (size " + size + "): " + file);
+            }
+            this.map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                throw new IOException("Not a key ring (bad magic or version): " + file);
+            }
+            this.count = map.getInt(8);
+            long index = map.getLong(12);
+            if (count < 0 || index < HEADER_BYTES || index + (long) count * INDEX_ENTRY_BYTES != size) {
+                throw new IOException("Corrupt key ring index: " + file);
+            }
+            this.indexOffset = (int) index;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.cache = new StripedLruCache<>(cachedKeys, STRIPES);
+    }
+
+    public static KeyRing open(Path file, int cachedKeys) throws IOException {
+        return new KeyRing(file, cachedKeys);
+    }
+
+    public static Writer writer(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(long id) {
+        return find(id) >= 0;
+    }
+
+    // e.g. ring.get(id, KeyRing.RSA, RSAKeyPair::fromComponents); null when the id is not in the ring
+    public <T> T get(long id, byte type, Function<BigInteger[], T> decoder) throws IOException {
+        return cached(id, type, buffer -> decoder.apply(readComponents(buffer)));
+    }
+
+    // JCA pairs are rebuilt with the default providers; secp256k1 keys need the Bouncy Castle one
+    public KeyPair getKeyPair(long id) throws IOException {
+        return getKeyPair(id, null);
+    }
+
+    public KeyPair getKeyPair(long id, Provider provider) throws IOException {
+        return cached(id, JCA, buffer -> readKeyPair(buffer, provider));
+    }
+
+    // Cache statistics since open: a low hit rate with many evictions means cachedKeys is too small for the working set
+    public long cacheHits() {
+        return cache.getHits();
+    }
+
+    public long cacheMisses() {
+        return cache.getMisses();
+    }
+
+    public long cacheEvictions() {
+        return cache.getEvictions();
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        evictAll();
+        channel.close();   // The mapping itself is released when the buffer is collected
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(long id, byte type, Function<ByteBuffer, T> decode) throws IOException {
+        Cached hit = cache.get(id);
+        if (hit != null) {
+            if (hit.type != type) {
+                throw new IllegalArgumentException("Error: key " + id + " has type " + hit.type + ", not " + type);
+            }
+            return (T) hit.value;
+        }
+        ByteBuffer entry = entry(id, type);
+        if (entry == null) {
+            return null;
+        }
+        T decoded;
+        try {
+            decoded = decode.apply(entry);   // Outside the lock: two threads may decode the same key once each
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException | NumberFormatException e) {
+            throw new IOException("Corrupt key ring entry " + id + ": " + e, e);
+        }
+        cache.put(id, new Cached(type, decoded));
+        return decoded;
+    }
+
+    // Binary search over the mapped index, no allocation
+    private int find(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long key = map.getLong(indexOffset + middle * INDEX_ENTRY_BYTES);
+            if (key < id) low = middle + 1;
+            else if (key > id) high = middle - 1;
+            else return middle;
+        }
+        return -1;
+    }
+
+    // Read-only view of one payload; slices keep concurrent readers from sharing a position
+    private ByteBuffer entry(long id, byte type) throws IOException {
+        int slot = find(id);
+        if (slot < 0) {
+            return null;
+        }
+        long offset = map.getLong(indexOffset + slot * INDEX_ENTRY_BYTES + 8);
+        if (offset < HEADER_BYTES || offset + 5 > indexOffset) {
+            throw new IOException("Corrupt key ring offset for " + id);
+        }
+        byte stored = map.get((int) offset);
+        if (stored != type) {
+            throw new IllegalArgumentException("Error: key " + id + " has type " + stored + ", not " + type);
+        }
+        int length = map.getInt((int) offset + 1);
+        if (length < 0 || offset + 5 + length > indexOffset) {
+            throw new IOException("Corrupt key ring length for " + id);
+        }
+        return map.slice((int) offset + 5, length);
+    }
+
+    // Decoded key and the entry type it came from, so a lookup with the wrong type still fails on a cache hit
+    private static class Cached {
+        final byte type;
+        final Object value;
+
+        Cached(byte type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    private static BigInteger[] readComponents(ByteBuffer buffer) {
+        BigInteger[] components = new BigInteger[buffer.getShort()];
+        for (int i = 0; i < components.length; i++) {
+            int length = buffer.getInt();
+            if (length < 0) continue;   // null component (e.g. an RSA key without CRT parts)
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            components[i] = new BigInteger(bytes);
+        }
+        return components;
+    }
+
+    private static KeyPair readKeyPair(ByteBuffer buffer, Provider provider) {
+        byte[] algorithm = new byte[buffer.getShort()];
+        buffer.get(algorithm);
+        byte[] publicKey = new byte[buffer.getInt()];
+        buffer.get(publicKey);
+        byte[] privateKey = new byte[buffer.getInt()];
+        buffer.get(privateKey);
+        try {
+            String name = new String(algorithm, StandardCharsets.UTF_8);
+            KeyFactory factory = provider == null ? KeyFactory.getInstance(name) : KeyFactory.getInstance(name, provider);
+            return new KeyPair(factory.generatePublic(new X509EncodedKeySpec(publicKey)),
+                    factory.generatePrivate(new PKCS8EncodedKeySpec(privateKey)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot rebuild " + new String(algorithm, StandardCharsets.UTF_8) + " key pair: " + e.getMessage(), e);
+        } finally {
+            Arrays.fill(privateKey, (byte) 0);
+        }
+    }
+
+    // Streams entries to a temporary file, then writes the sorted index and moves the file into place.
+    // Only (id, offset) is held in memory: 16 bytes per key.
+    public static class Writer implements AutoCloseable {
+        private final Path file;
+        private final Path temp;
+        private final DataOutputStream out;
+        private long[] ids = new long[1024];
+        private long[] offsets = new long[1024];
+        private int count;
+        private long position = HEADER_BYTES;
+        private boolean closed;
+
+        private Writer(Path file) throws IOException {
+            this.file = file;
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.temp = Files.createTempFile(directory, "keyring-", ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+            out.write(new byte[HEADER_BYTES]);   // Patched on close
+        }
+
+        public void add(long id, byte type, BigInteger[] components) throws IOException {
+            if (type != RSA && type != ELGAMAL) {
+                throw new IllegalArgumentException("Error: component keys are RSA or ELGAMAL → " + type);
+            }
+            int length = 2;
+            for (BigInteger component : components) {
+                length += 4 + (component == null ? 0 : component.toByteArray().length);
+            }
+            begin(id, type, length);
+            out.writeShort(components.length);
+            for (BigInteger component : components) {
+                if (component == null) {
+                    out.writeInt(-1);
+                    continue;
+                }
+                byte[] bytes = component.toByteArray();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        public void add(long id, KeyPair keyPair) throws IOException {
+            byte[] algorithm = keyPair.getPublic().getAlgorithm().getBytes(StandardCharsets.UTF_8);
+            byte[] publicKey = keyPair.getPublic().getEncoded();
+            byte[] privateKey = keyPair.getPrivate().getEncoded();
+            if (publicKey == null || privateKey == null) {
+                throw new IllegalArgumentException("Error: key pair cannot be encoded → " + keyPair.getPublic().getAlgorithm());
+            }
+            begin(id, JCA, 2 + algorithm.length + 4 + publicKey.length + 4 + privateKey.length);
+            out.writeShort(algorithm.length);
+            out.write(algorithm);
+            out.writeInt(publicKey.length);
+            out.write(publicKey);
+            out.writeInt(privateKey.length);
+            out.write(privateKey);
+            Arrays.fill(privateKey, (byte) 0);
+        }
+
+        private void begin(long id, byte type, int length) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("Key ring writer is closed.");
+            }
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            ids[count] = id;
+            offsets[count] = position;
+            count++;
+            out.writeByte(type);
+            out.writeInt(length);
+            position += 5 + length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                // Sort (id, offset) pairs by id: offsets follow through an index permutation
+                Integer[] order = new Integer[count];
+                for (int i = 0; i < count; i++) order[i] = i;
+                Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+                for (int i = 1; i < count; i++) {
+                    if (ids[order[i]] == ids[order[i - 1]]) {
+                        throw new IllegalArgumentException("Error: duplicate key id → " + ids[order[i]]);
+                    }
+                }
+                long indexOffset = position;
+                if (indexOffset + (long) count * INDEX_ENTRY_BYTES > Integer.MAX_VALUE) {
+                    throw new IOException("Key ring too large to map (over 2 GiB): " + file);
+                }
+                for (int i = 0; i < count; i++) {
+                    out.writeLong(ids[order[i]]);
+                    out.writeLong(offsets[order[i]]);
+                }
+                out.close();
+
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                    header.putInt(MAGIC).putInt(VERSION).putInt(count).putLong(indexOffset).flip();
+                    channel.write(header, 0);
+                    channel.force(true);
+                }
+                // Rename, so a reader never maps half a file
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(out);
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+
+        private static void closeQuietly(OutputStream stream) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+                // Already failing
+            }
+        }
+    }
+}
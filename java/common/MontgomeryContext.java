@@ -0,0 +1,345 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Modular arithmetic for one odd modulus on little-endian long[] limbs, in caller-provided buffers.
+// Montgomery multiplication (CIOS) + sliding-window exponentiation; after construction nothing is allocated.
+// Holds scratch space, so one context per thread. Not constant-time (same as BigInteger.modPow).
+public class MontgomeryContext {
+    private static final int MAX_WINDOW = 6;
+
+    private final BigInteger modulusBig;
+    private final long[] modulus;
+    private final int len;          // Limbs per value, R = 2^(64·len)
+    private final long n0inv;       // −n^-1 mod 2^64
+    private final long[] rSquared;  // R² mod n (plain)
+    private final long[] oneMont;   // R mod n (Montgomery form of 1)
+    private final long[] exponentPMinus2;
+
+    // Scratch
+    private final long[] t;
+    private final long[] wide;
+    private final long[] product;
+    private final long[] acc;
+    private final long[][] powers = new long[1 << (MAX_WINDOW - 1)][];   // Odd powers b, b³, b⁵ ... (Montgomery form)
+
+    public MontgomeryContext(BigInteger modulus) {
+        if (modulus.signum() <= 0 || !modulus.testBit(0) || modulus.bitLength() < 2) {
+            throw new IllegalArgumentException("Error: Montgomery modulus must be odd and > 1 → " + modulus);
+        }
+        this.modulusBig = modulus;
+        this.len = (modulus.bitLength() + 63) >>> 6;
+        this.modulus = toLimbs(modulus, len);
+        this.n0inv = -inverse64(this.modulus[0]);
+
+        BigInteger r = BigInteger.ONE.shiftLeft(64 * len);
+        this.oneMont = toLimbs(r.mod(modulus), len);
+        this.rSquared = toLimbs(r.multiply(r).mod(modulus), len);
+        this.exponentPMinus2 = toLimbs(modulus.subtract(BigInteger.TWO), len);
+
+        this.t = new long[len + 2];
+        this.wide = new long[2 * len + 1];
+        this.product = new long[len];
+        this.acc = new long[len];
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] = new long[len];
+        }
+    }
+
+    public int limbs() {
+        return len;
+    }
+    public BigInteger modulus() {
+        return modulusBig;
+    }
+    public long[] newBuffer() {
+        return new long[len];
+    }
+
+    // out = a·b·R^-1 mod n, for a, b < n (out may alias a or b)
+    public void montgomeryMultiply(long[] a, long[] b, long[] out) {
+        long[] t = this.t;
+        Arrays.fill(t, 0L);
+        for (int i = 0; i < len; i++) {
+            // t += a · b[i]
+            long bi = b[i];
+            long carry = 0;
+            for (int j = 0; j < len; j++) {
+                long lo = a[j] * bi;
+                long hi = multiplyHighUnsigned(a[j], bi);
+                long sum = t[j] + lo;
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long total = sum + carry;
+                hi += Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+                t[j] = total;
+                carry = hi;
+            }
+            long top = t[len] + carry;
+            t[len + 1] = Long.compareUnsigned(top, carry) < 0 ? 1 : 0;
+            t[len] = top;
+
+            // t = (t + m · n) / 2^64, with m chosen so the low limb cancels
+            long m = t[0] * n0inv;
+            long lo0 = m * modulus[0];
+            long hi0 = multiplyHighUnsigned(m, modulus[0]);
+            long sum0 = t[0] + lo0;
+            carry = hi0 + (Long.compareUnsigned(sum0, lo0) < 0 ? 1 : 0);
+            for (int j = 1; j < len; j++) {
+                long lo = m * modulus[j];
+                long hi = multiplyHighUnsigned(m, modulus[j]);
+                long sum = t[j] + lo;
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long total = sum + carry;
+                hi += Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+                t[j - 1] = total;
+                carry = hi;
+            }
+            long total = t[len] + carry;
+            t[len - 1] = total;
+            t[len] = t[len + 1] + (Long.compareUnsigned(total, carry) < 0 ? 1 : 0);
+        }
+        // Result < 2n: one conditional subtraction
+        if (t[len] != 0 || compare(t, modulus, len) >= 0) {
+            subtract(t, modulus, out, len);
+        } else {
+            System.arraycopy(t, 0, out, 0, len);
+        }
+    }
+
+    // out = a·b mod n (plain form in and out)
+    public void modMultiply(long[] a, long[] b, long[] out) {
+        montgomeryMultiply(a, b, product);
+        montgomeryMultiply(product, rSquared, out);
+    }
+
+    // out = base^exponent mod n (plain form in and out); exponent may have any number of limbs
+    public void modPow(long[] base, long[] exponent, long[] out) {
+        int bits = bitLength(exponent);
+        if (bits == 0) {
+            Arrays.fill(out, 0, len, 0L);
+            out[0] = 1;
+            if (len == 1 && modulus[0] == 1) out[0] = 0;
+            return;
+        }
+        int window = bits > 768 ? 6 : bits > 240 ? 5 : bits > 80 ? 4 : bits > 24 ? 3 : 1;
+
+        // Odd powers in Montgomery form: powers[i] = base^(2i+1)·R
+        montgomeryMultiply(base, rSquared, powers[0]);
+        montgomeryMultiply(powers[0], powers[0], product);   // base²·R
+        int count = 1 << (window - 1);
+        for (int i = 1; i < count; i++) {
+            montgomeryMultiply(powers[i - 1], product, powers[i]);
+        }
+
+        // Left-to-right sliding window
+        boolean started = false;
+        int i = bits - 1;
+        while (i >= 0) {
+            if (!testBit(exponent, i)) {
+                if (started) montgomeryMultiply(acc, acc, acc);
+                i--;
+                continue;
+            }
+            int low = Math.max(i - window + 1, 0);
+            while (!testBit(exponent, low)) low++;
+            int value = 0;
+            for (int b = i; b >= low; b--) {
+                value = (value << 1) | (testBit(exponent, b) ? 1 : 0);
+            }
+            if (started) {
+                for (int s = 0; s < i - low + 1; s++) montgomeryMultiply(acc, acc, acc);
+                montgomeryMultiply(acc, powers[value >>> 1], acc);
+            } else {
+                System.arraycopy(powers[value >>> 1], 0, acc, 0, len);
+                started = true;
+            }
+            i = low - 1;
+        }
+        fromMontgomery(acc, out);
+    }
+
+    // out = a^-1 mod n by Fermat (n must be prime)
+    public void inversePrime(long[] a, long[] out) {
+        modPow(a, exponentPMinus2, out);
+    }
+
+    // out = x mod n, for x of up to 2·len limbs with x < n·R (e.g. c mod p for c < p·q, |q| ≤ |p|)
+    public void reduce(long[] x, long[] out) {
+        long[] w = this.wide;
+        Arrays.fill(w, 0L);
+        System.arraycopy(x, 0, w, 0, Math.min(x.length, 2 * len));
+        for (int i = 0; i < len; i++) {
+            long m = w[i] * n0inv;
+            long carry = 0;
+            for (int j = 0; j < len; j++) {
+                long lo = m * modulus[j];
+                long hi = multiplyHighUnsigned(m, modulus[j]);
+                long sum = w[i + j] + lo;
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long total = sum + carry;
+                hi += Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+                w[i + j] = total;
+                carry = hi;
+            }
+            for (int k = i + len; carry != 0 && k < w.length; k++) {
+                long total = w[k] + carry;
+                carry = Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+                w[k] = total;
+            }
+        }
+        // w[len..2len] = x·R^-1 < 2n
+        System.arraycopy(w, len, t, 0, len + 1);
+        if (t[len] != 0 || compare(t, modulus, len) >= 0) {
+            subtract(t, modulus, product, len);
+        } else {
+            System.arraycopy(t, 0, product, 0, len);
+        }
+        montgomeryMultiply(product, rSquared, out);   // x·R^-1 · R² · R^-1 = x
+    }
+
+    // out = a − b mod n, for a, b < n
+    public void subtractMod(long[] a, long[] b, long[] out) {
+        if (subtract(a, b, out, len) != 0) {
+            add(out, modulus, out, len);
+        }
+    }
+
+    public void toMontgomery(long[] a, long[] out) {
+        montgomeryMultiply(a, rSquared, out);
+    }
+
+    public void fromMontgomery(long[] a, long[] out) {
+        Arrays.fill(product, 0L);
+        product[0] = 1;
+        montgomeryMultiply(a, product, out);
+    }
+
+    // Plain schoolbook product: out = a·b (out needs a.length + b.length limbs, must not alias)
+    public static void multiply(long[] a, long[] b, long[] out) {
+        Arrays.fill(out, 0L);
+        for (int i = 0; i < b.length; i++) {
+            long carry = 0;
+            for (int j = 0; j < a.length; j++) {
+                long lo = a[j] * b[i];
+                long hi = multiplyHighUnsigned(a[j], b[i]);
+                long sum = out[i + j] + lo;
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long total = sum + carry;
+                hi += Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+                out[i + j] = total;
+                carry = hi;
+            }
+            out[i + a.length] = carry;
+        }
+    }
+
+    // a += b over a.length limbs (b may be shorter), returns the carry out
+    public static long addInPlace(long[] a, long[] b) {
+        long carry = 0;
+        for (int i = 0; i < a.length; i++) {
+            long bi = i < b.length ? b[i] : 0;
+            long sum = a[i] + bi;
+            long c1 = Long.compareUnsigned(sum, bi) < 0 ? 1 : 0;
+            long total = sum + carry;
+            long c2 = Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+            a[i] = total;
+            carry = c1 | c2;
+        }
+        return carry;
+    }
+
+    public static long[] toLimbs(BigInteger value, int limbs) {
+        long[] out = new long[limbs];
+        toLimbs(value, out);
+        return out;
+    }
+
+    public static void toLimbs(BigInteger value, long[] out) {
+        if (value.signum() < 0 || value.bitLength() > 64 * out.length) {
+            throw new IllegalArgumentException("Error: value does not fit in " + out.length + " limbs");
+        }
+        byte[] bytes = value.toByteArray();   // Big-endian, may have a leading sign byte
+        Arrays.fill(out, 0L);
+        for (int i = 0; i < bytes.length; i++) {
+            int bit = 8 * (bytes.length - 1 - i);
+            if (bit < 64 * out.length) {
+                out[bit >>> 6] |= (bytes[i] & 0xFFL) << (bit & 63);
+            }
+        }
+    }
+
+    public static BigInteger toBigInteger(long[] limbs) {
+        byte[] bytes = new byte[8 * limbs.length + 1];   // Leading zero keeps it positive
+        for (int i = 0; i < limbs.length; i++) {
+            long limb = limbs[i];
+            for (int b = 0; b < 8; b++) {
+                bytes[bytes.length - 1 - 8 * i - b] = (byte) (limb >>> (8 * b));
+            }
+        }
+        return new BigInteger(bytes);
+    }
+
+    public static boolean equal(long[] a, long[] b, int limbs) {
+        for (int i = 0; i < limbs; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+
+    private static long multiplyHighUnsigned(long a, long b) {
+        // Math.multiplyHigh is signed; correct it for unsigned operands
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private static long inverse64(long x) {
+        // Newton iteration: each step doubles the number of correct low bits (x odd)
+        long inv = x;
+        for (int i = 0; i < 5; i++) {
+            inv *= 2 - x * inv;
+        }
+        return inv;
+    }
+
+    private static int compare(long[] a, long[] b, int limbs) {
+        for (int i = limbs - 1; i >= 0; i--) {
+            if (a[i] != b[i]) return Long.compareUnsigned(a[i], b[i]);
+        }
+        return 0;
+    }
+
+    private static long subtract(long[] a, long[] b, long[] out, int limbs) {
+        long borrow = 0;
+        for (int i = 0; i < limbs; i++) {
+            long ai = a[i];
+            long diff = ai - b[i];
+            long b1 = Long.compareUnsigned(ai, b[i]) < 0 ? 1 : 0;
+            long total = diff - borrow;
+            long b2 = Long.compareUnsigned(diff, borrow) < 0 ? 1 : 0;
+            out[i] = total;
+            borrow = b1 | b2;
+        }
+        return borrow;
+    }
+
+    private static void add(long[] a, long[] b, long[] out, int limbs) {
+        long carry = 0;
+        for (int i = 0; i < limbs; i++) {
+            long sum = a[i] + b[i];
+            long c1 = Long.compareUnsigned(sum, b[i]) < 0 ? 1 : 0;
+            long total = sum + carry;
+            long c2 = Long.compareUnsigned(total, carry) < 0 ? 1 : 0;
+            out[i] = total;
+            carry = c1 | c2;
+        }
+    }
+
+    private static boolean testBit(long[] x, int bit) {
+        return ((x[bit >>> 6] >>> (bit & 63)) & 1) != 0;
+    }
+
+    private static int bitLength(long[] x) {
+        for (int i = x.length - 1; i >= 0; i--) {
+            if (x[i] != 0) return 64 * i + 64 - Long.numberOfLeadingZeros(x[i]);
+        }
+        return 0;
+    }
+}
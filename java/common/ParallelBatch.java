@@ -0,0 +1,71 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+// Runs one operation over a batch on a fork-join pool; results come back in input order
+public class ParallelBatch {
+    private static final long TARGET_CHUNK_NANOS = 1_000_000;  // ~1 ms of work per leaf task
+    private static final int CHUNKS_PER_WORKER = 4;             // Slack for work stealing
+    private static final double NANOS_PER_LIMB_OP = 2.5;        // modPow ≈ 2.5 ns × (bits / 64)² × exponentBits
+
+    public static <T, R> List<R> map(List<T> inputs, Function<T, R> operation, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Error: chunk size must be >= 1 → " + chunkSize);
+        }
+        Object[] results = new Object[inputs.size()];
+        if (!inputs.isEmpty()) {
+            pool.invoke(new Chunk<>(inputs, results, operation, 0, inputs.size(), chunkSize));
+        }
+        @SuppressWarnings("unchecked")
+        List<R> ordered = (List<R>) Arrays.asList(results);
+        return ordered;
+    }
+
+    // Items per leaf: enough to amortize task overhead, few enough that every worker gets several chunks
+    public static int chunkSize(int count, int parallelism, long nanosPerItem) {
+        long byCost = Math.max(1, TARGET_CHUNK_NANOS / Math.max(1, nanosPerItem));
+        long byBalance = Math.max(1, count / ((long) parallelism * CHUNKS_PER_WORKER));
+        return (int) Math.min(byCost, byBalance);
+    }
+
+    // Rough cost of one modPow, used to size chunks from the key length
+    public static long modPowNanos(int modulusBits, int exponentBits) {
+        double limbs = modulusBits / 64.0;
+        return (long) (NANOS_PER_LIMB_OP * limbs * limbs * exponentBits);
+    }
+
+    private static final class Chunk<T, R> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> inputs;
+        private final Object[] results;
+        private final Function<T, R> operation;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        Chunk(List<T> inputs, Object[] results, Function<T, R> operation, int from, int to, int chunkSize) {
+            this.inputs = inputs;
+            this.results = results;
+            this.operation = operation;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = operation.apply(inputs.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk<>(inputs, results, operation, from, middle, chunkSize),
+                    new Chunk<>(inputs, results, operation, middle, to, chunkSize));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+// Incremental sieve over the odd candidates base + 2j, j ∈ [0, WINDOW).
+// base mod s is computed once for every small prime s; after that each window is sieved with int arithmetic only
+// and the next window just adds 2·WINDOW to the residues. Survivors go to Miller–Rabin once, so a prime that
+// comes out of here never needs a second primality test.
+// Shared by RSAGenerator (plain primes) and SafePrimeGenerator (q and p = 2q + 1 both prime).
+public class PrimeSieve {
+    public static final int CERTAINTY = 40;
+    public static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private static final int SIEVE_LIMIT = 1 << 16;   // Small primes used to sieve
+    // Smallest randomPrime size: every candidate must exceed SIEVE_LIMIT, or a small prime is sieved out as its own multiple
+    public static final int MIN_PRIME_BITS = 18;
+    private static final int WINDOW = 1 << 12;        // Candidates per window
+    private static final int[] SMALL_PRIMES = smallPrimes(SIEVE_LIMIT);
+
+    private final boolean safe;
+    private final int[] residues = new int[SMALL_PRIMES.length];
+    private final boolean[] composite = new boolean[WINDOW];
+    private BigInteger base;
+
+    // safe = false: marks base + 2j divisible by a small prime
+    // safe = true: also marks it when 2(base + 2j) + 1 is divisible by one
+    public PrimeSieve(BigInteger base, boolean safe) {
+        if (!base.testBit(0)) {
+            throw new IllegalArgumentException("Error: sieve base must be odd → " + base);
+        }
+        this.base = base;
+        this.safe = safe;
+        int[] words = words(base);
+        for (int i = 0; i < SMALL_PRIMES.length; i++) {
+            residues[i] = mod(words, SMALL_PRIMES[i]);
+        }
+        sieve();
+    }
+
+    public BigInteger base() {
+        return base;
+    }
+
+    public int window() {
+        return WINDOW;
+    }
+
+    // True when base + 2j has a small factor (or 2(base + 2j) + 1 does, for safe primes)
+    public boolean isComposite(int j) {
+        return composite[j];
+    }
+
+    public BigInteger candidate(int j) {
+        return base.add(BigInteger.valueOf(2L * j));
+    }
+
+    // Moves on to the next WINDOW candidates without any BigInteger division
+    public void advance() {
+        base = base.add(BigInteger.valueOf(2L * WINDOW));
+        for (int i = 0; i < SMALL_PRIMES.length; i++) {
+            residues[i] = (int) ((residues[i] + 2L * WINDOW) % SMALL_PRIMES[i]);
+        }
+        sieve();
+    }
+
+    // Random prime of exactly bitLength bits with the two top bits set: the product of two such primes
+    // of b bits always has exactly 2b bits
+    public static BigInteger randomPrime(int bitLength, SecureRandom random, BooleanSupplier cancelled) {
+        if (bitLength < MIN_PRIME_BITS) {
+            throw new IllegalArgumentException("Error: prime bit length too small → " + bitLength);
+        }
+        while (true) {
+            BigInteger start = new BigInteger(bitLength, random).setBit(bitLength - 1).setBit(bitLength - 2).setBit(0);
+            PrimeSieve sieve = new PrimeSieve(start, false);
+            while (true) {
+                for (int j = 0; j < WINDOW; j++) {
+                    if (sieve.composite[j]) continue;
+                    if (cancelled.getAsBoolean()) {
+                        throw new CancellationException("Prime search cancelled.");
+                    }
+                    BigInteger candidate = sieve.candidate(j);
+                    if (candidate.bitLength() != bitLength) break;
+                    if (candidate.isProbablePrime(CERTAINTY)) {
+                        return candidate;
+                    }
+                }
+                if (sieve.candidate(WINDOW).bitLength() != bitLength) break;   // Ran off the top: new random start
+                sieve.advance();
+            }
+        }
+    }
+
+    // One independent search per entry, all running at the same time on POOL
+    public static BigInteger[] randomPrimes(int[] bitLengths, SecureRandom random) {
+        List<Callable<BigInteger>> tasks = new ArrayList<>();
+        for (int bits : bitLengths) {
+            tasks.add(() -> randomPrime(bits, random, () -> false));
+        }
+        BigInteger[] primes = new BigInteger[bitLengths.length];
+        try {
+            List<Future<BigInteger>> results = POOL.invokeAll(tasks);
+            for (int i = 0; i < primes.length; i++) {
+                primes[i] = results.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Prime search interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Prime search failed.", e.getCause());
+        }
+        return primes;
+    }
+
+    private void sieve() {
+        Arrays.fill(composite, false);
+        for (int i = 0; i < SMALL_PRIMES.length; i++) {
+            int s = SMALL_PRIMES[i];
+            int r = residues[i];
+            int halfInverse = (s + 1) / 2;                             // 2^-1 mod s
+            // base + 2j ≡ 0 (mod s) → 2j ≡ −r
+            int start = (int) ((long) (s - r) % s * halfInverse % s);
+            for (int j = start; j < WINDOW; j += s) composite[j] = true;
+            if (safe) {
+                // 2(base + 2j) + 1 ≡ 0 (mod s) → base + 2j ≡ (s − 1)/2 → 2j ≡ (s − 1)/2 − r
+                start = (int) ((long) (((s - 1) / 2 - r) % s + s) % s * halfInverse % s);
+                for (int j = start; j < WINDOW; j += s) composite[j] = true;
+            }
+        }
+    }
+
+    // Big-endian 32-bit words of a positive value
+    private static int[] words(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int[] words = new int[(bytes.length + 3) / 4];
+        for (int i = 0; i < bytes.length; i++) {
+            int fromEnd = bytes.length - 1 - i;
+            words[words.length - 1 - fromEnd / 4] |= (bytes[i] & 0xFF) << (8 * (fromEnd % 4));
+        }
+        return words;
+    }
+
+    // value mod s by Horner over 32-bit words; r < s < 2^16 keeps r·2^32 + word inside a long
+    private static int mod(int[] words, int s) {
+        long r = 0;
+        for (int word : words) {
+            r = ((r << 32) | (word & 0xFFFFFFFFL)) % s;
+        }
+        return (int) r;
+    }
+
+    private static int[] smallPrimes(int limit) {
+        // Sieve of Eratosthenes, odd primes only (candidates are always odd)
+        boolean[] notPrime = new boolean[limit];
+        int count = 0;
+        for (int i = 3; i < limit; i += 2) {
+            if (notPrime[i]) continue;
+            count++;
+            for (long j = (long) i * i; j < limit; j += 2L * i) notPrime[(int) j] = true;
+        }
+        int[] primes = new int[count];
+        for (int i = 3, k = 0; i < limit; i += 2) {
+            if (!notPrime[i]) primes[k++] = i;
+        }
+        return primes;
+    }
+}
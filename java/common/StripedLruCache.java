@@ -0,0 +1,205 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe LRU cache split into independently locked stripes.
+ * <p>
+ * Each key hashes to one stripe, a small access-ordered {@link LinkedHashMap} guarded by its own lock,
+ * so threads working on different keys rarely contend. The capacity is split exactly: every stripe holds
+ * {@code capacity / stripes} entries and the first {@code capacity % stripes} stripes one more, and a full
+ * stripe evicts its least recently used entry, so the whole cache never exceeds {@code capacity} entries.
+ * <p>
+ * Values are computed outside the lock: two threads missing the same key at once may both compute it,
+ * and the first one stored wins.
+ *
+ * @param <K> the key type; must implement {@code equals} and {@code hashCode}
+ * @param <V> the value type
+ *
+ * @since 1.0
+ */
+public final class StripedLruCache<K, V> {
+    private final Stripe<K, V>[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache with one stripe per available processor (rounded up to a power of two).
+     *
+     * @param capacity the maximum number of entries, at least 1
+     *
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     */
+    public StripedLruCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a cache with the given number of stripes (rounded up to a power of two).
+     *
+     * @param capacity the maximum number of entries, at least 1
+     * @param stripes the number of independently locked segments, at least 1
+     *
+     * @throws IllegalArgumentException if {@code capacity} or {@code stripes} is less than 1
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public StripedLruCache(int capacity, int stripes) {
+        if (capacity < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Capacity and stripes must be at least 1: " + capacity + ", " + stripes);
+        }
+        int count = 1;
+        while (count < stripes && count * 2 <= capacity) {
+            count <<= 1;                                                           // Power of two, never more stripes than entries
+        }
+        this.stripes = new Stripe[count];
+        int perStripe = capacity / count;
+        int remainder = capacity % count;
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe<>(perStripe + (i < remainder ? 1 : 0), evictions);
+        }
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or {@code null} if absent; a hit refreshes the entry.
+     *
+     * @param key the key to look up; must not be {@code null}
+     * @return the cached value, or {@code null}
+     */
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        V value;
+        synchronized (stripe) {
+            value = stripe.get(key);
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, computing and storing it with {@code loader} on a miss.
+     *
+     * @param key the key to look up; must not be {@code null}
+     * @param loader computes the value on a miss, outside any lock; must not return {@code null}
+     * @return the cached or newly computed value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        V computed = loader.apply(key);
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            V raced = stripe.putIfAbsent(key, computed);
+            return raced != null ? raced : computed;
+        }
+    }
+
+    /**
+     * Stores {@code value} for {@code key}, replacing any previous value.
+     *
+     * @param key the key; must not be {@code null}
+     * @param value the value; must not be {@code null}
+     */
+    public void put(K key, V value) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the entry for {@code key}, if present.
+     *
+     * @param key the key to remove
+     */
+    public void remove(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry; the statistics are kept.
+     */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the current number of entries, summed over the stripes.
+     *
+     * @return the number of cached entries
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that found an entry.
+     *
+     * @return the hit count since creation
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no entry.
+     *
+     * @return the miss count since creation
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries dropped because their stripe was full.
+     *
+     * @return the eviction count since creation
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;                                                       // Spread the high bits, as HashMap does
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final LongAdder evictions;
+
+        Stripe(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);                                                // Access order: LRU
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
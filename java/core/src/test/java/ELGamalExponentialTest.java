@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ELGamalExponentialTest {
+    private static final int VOTES = 200;
+
+    @TempDir
+    static Path groupCache;
+
+    private static ELGamalKeyPair keyPair;
+
+    @BeforeAll
+    static void setUp() {
+        ELGamalGroupStore.setCacheDirectory(groupCache);
+        keyPair = ELGamalGenerator.generatorKeyPair();      // Default generated group, the case that used to leak
+    }
+
+    // Legendre symbols of a, b and y were enough to read m mod 2 with a generator of order 2q
+    @Test
+    void parityOfZeroOneVotesIsNotRecoverable() {
+        BigInteger p = keyPair.get_primeP();
+        Random votes = new Random(24);
+        int guessedRight = 0;
+        for (int i = 0; i < VOTES; i++) {
+            long m = votes.nextInt(2);
+            BigInteger[] c = ELGamalExponential.encrypt(m, p, keyPair.get_generatorG(), keyPair.get_publicKeyY());
+            int a = legendre(c[0], p);
+            int b = legendre(c[1], p);
+            int y = legendre(keyPair.get_publicKeyY(), p);
+            assertEquals(1, a);
+            assertEquals(1, b);
+            assertEquals(1, y);
+            // The old attack: χ(b) = χ(g)^m · χ(y)^k, with χ(y)^k read from χ(a)
+            long guess = (y == -1 && a == -1 ? -b : b) == -1 ? 1 : 0;
+            if (guess == m) guessedRight++;
+        }
+        // A constant guess: right only for the votes that happen to match it
+        assertTrue(guessedRight > VOTES / 4 && guessedRight < 3 * VOTES / 4, "parity guessed " + guessedRight + "/" + VOTES);
+    }
+
+    @Test
+    void generatorOfOrderTwoQIsRejected() {
+        BigInteger p = keyPair.get_primeP();
+        BigInteger h = BigInteger.TWO;
+        while (legendre(h, p) == 1) {
+            h = h.add(BigInteger.ONE);
+        }
+        BigInteger nonResidue = h;
+        BigInteger y = nonResidue.modPow(keyPair.get_privateKeyX(), p);
+        assertThrows(IllegalArgumentException.class, () -> ELGamalExponential.encrypt(1, p, nonResidue, y));
+        assertThrows(IllegalArgumentException.class, () -> DiscreteLogTable.forGroup(p, nonResidue, 1000, 32));
+    }
+
+    @Test
+    void aggregatedSumDecrypts() {
+        BigInteger p = keyPair.get_primeP();
+        List<Long> values = new ArrayList<>();
+        Random random = new Random(7);
+        long sum = 0;
+        for (int i = 0; i < 300; i++) {
+            long m = random.nextInt(1000);
+            values.add(m);
+            sum += m;
+        }
+        List<BigInteger[]> ciphertexts = ELGamalExponential.encryptBatch(values, p, keyPair.get_generatorG(), keyPair.get_publicKeyY());
+        BigInteger[] total = ELGamalExponential.aggregate(ciphertexts, p);
+
+        ELGamalGroup group = new ELGamalGroup("test", p, keyPair.get_generatorG());
+        DiscreteLogTable table = DiscreteLogTable.forGroup(group, 1 << 20);
+        assertEquals(sum, ELGamalExponential.decrypt(total, p, keyPair.get_privateKeyX(), table));
+
+        BigInteger[] outOfRange = ELGamalExponential.encrypt((1 << 20) + 1, p, keyPair.get_generatorG(), keyPair.get_publicKeyY());
+        assertThrows(IllegalArgumentException.class, () -> ELGamalExponential.decrypt(outOfRange, p, keyPair.get_privateKeyX(), table));
+    }
+
+    private static int legendre(BigInteger value, BigInteger p) {
+        return value.modPow(p.shiftRight(1), p).equals(BigInteger.ONE) ? 1 : -1;
+    }
+}
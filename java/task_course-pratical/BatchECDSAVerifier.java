@@ -0,0 +1,235 @@
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.StandardDSAEncoding;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.WNafUtil;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Verifies large batches of {@code SHA256withECDSA} signatures from a small set of signers.
+ * <p>
+ * {@link ECDSASignature#verifySignature} goes through the JCA: it decodes the public key and starts the
+ * point multiplications from scratch on every call. This verifier uses Bouncy Castle's lightweight
+ * {@link ECDSASigner} on the optimized curve implementation ({@link CustomNamedCurves}) and keeps a bounded
+ * {@link StripedLruCache} of decoded public keys. Each cached key point carries its WNAF precomputation
+ * table ({@link WNafUtil}), so a repeat signer only pays for the table once. Batches are split across a
+ * work-stealing {@link ForkJoinPool}.
+ * <p>
+ * Signatures use the same DER encoding as {@code Signature.getInstance("SHA256withECDSA")}, so the two are
+ * interchangeable. Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class BatchECDSAVerifier {
+    public static final String DEFAULT_CURVE = "secp256k1";
+    public static final int DEFAULT_CACHED_KEYS = 1024;
+    private static final int PRECOMP_WIDTH = 8;                                    // 2^(8-2) = 64 points (+64 negated), ~13 KB per key
+    private static final int BATCH_THRESHOLD = 16;                                 // Items per leaf task: ~1-2 ms of work
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    });
+
+    private final ECDomainParameters domain;
+    private final StripedLruCache<PublicKey, ECPublicKeyParameters> keys;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a verifier for {@value #DEFAULT_CURVE} that caches up to {@value #DEFAULT_CACHED_KEYS} keys
+     * and runs batches on the common pool.
+     *
+     * @since 1.0
+     */
+    public BatchECDSAVerifier() {
+        this(DEFAULT_CURVE, DEFAULT_CACHED_KEYS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a verifier for the named curve.
+     *
+     * @param curveName a curve known to {@link CustomNamedCurves}, e.g. {@code "secp256k1"} or {@code "secp256r1"}
+     * @param cachedKeys the maximum number of decoded public keys kept, at least 1
+     * @param pool the pool that runs batches
+     *
+     * @throws IllegalArgumentException if the curve is unknown or {@code cachedKeys} is less than 1
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * BatchECDSAVerifier verifier = new BatchECDSAVerifier("secp256k1", 4096, ForkJoinPool.commonPool());
+     * boolean[] valid = verifier.verifyAll(requests);
+     * }</pre>
+     */
+    public BatchECDSAVerifier(String curveName, int cachedKeys, ForkJoinPool pool) {
+        X9ECParameters curve = CustomNamedCurves.getByName(curveName);
+        if (curve == null) {
+            throw new IllegalArgumentException("Unknown curve: " + curveName);
+        }
+        this.domain = new ECDomainParameters(curve);
+        this.keys = new StripedLruCache<>(cachedKeys);
+        this.pool = pool;
+        WNafUtil.precompute(domain.getG(), PRECOMP_WIDTH, true);                   // Shared generator table
+    }
+
+    /**
+     * Verifies one signature, using the key cache.
+     *
+     * @param message the original message that was signed; must not be {@code null}
+     * @param signature the DER-encoded ECDSA signature; must not be {@code null}
+     * @param publicKey the EC public key on this verifier's curve; must not be {@code null}
+     * @return {@code true} if the signature is valid, {@code false} if it is invalid or malformed
+     *
+     * @throws InvalidKeyException if the key is not an EC key on this verifier's curve
+     *
+     * @since 1.0
+     */
+    public boolean verify(byte[] message, byte[] signature, PublicKey publicKey) throws InvalidKeyException {
+        ECPublicKeyParameters key;
+        try {
+            key = keys.computeIfAbsent(publicKey, this::decode);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeyException(e.getMessage(), e);
+        }
+        BigInteger[] rs;
+        try {
+            rs = StandardDSAEncoding.INSTANCE.decode(domain.getN(), signature);
+        } catch (IOException | IllegalArgumentException e) {
+            return false;                                                          // Malformed DER or r, s out of range
+        }
+        ECDSASigner signer = new ECDSASigner();                                    // Cheap: holds only the key reference
+        signer.init(false, key);
+        return signer.verifySignature(SHA256.get().digest(message), rs[0], rs[1]);
+    }
+
+    /**
+     * Verifies every request of the batch in parallel.
+     * <p>
+     * A request with a malformed signature or an unusable key is reported as invalid; no exception is thrown.
+     *
+     * @param requests the (message, signature, key) triples; must not be {@code null}
+     * @return one result per request, in the same order
+     *
+     * @since 1.0
+     */
+    public boolean[] verifyAll(Request[] requests) {
+        return verifyAll(Arrays.asList(requests));
+    }
+
+    /**
+     * Verifies every request of the batch in parallel.
+     * <p>
+     * A request with a malformed signature or an unusable key is reported as invalid; no exception is thrown.
+     *
+     * @param requests the (message, signature, key) triples; must not be {@code null}
+     * @return one result per request, in the same order
+     *
+     * @since 1.0
+     */
+    public boolean[] verifyAll(List<Request> requests) {
+        boolean[] results = new boolean[requests.size()];
+        if (!requests.isEmpty()) {
+            pool.invoke(new Batch(requests, results, 0, requests.size()));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the decoded-key cache, e.g. to read its hit and miss counts.
+     *
+     * @return the live key cache
+     */
+    public StripedLruCache<PublicKey, ECPublicKeyParameters> getKeyCache() {
+        return keys;
+    }
+
+    // Decodes and validates the point, then builds its WNAF table once; the table stays attached to the point
+    private ECPublicKeyParameters decode(PublicKey publicKey) {
+        if (!(publicKey instanceof ECPublicKey)) {
+            throw new IllegalArgumentException("Not an EC public key: " + publicKey.getAlgorithm());
+        }
+        ECPublicKey ecKey = (ECPublicKey) publicKey;
+        if (!ecKey.getParams().getOrder().equals(domain.getN())) {
+            throw new IllegalArgumentException("Public key is not on the verifier's curve.");
+        }
+        ECPoint point = domain.getCurve().validatePoint(ecKey.getW().getAffineX(), ecKey.getW().getAffineY());
+        WNafUtil.precompute(point, PRECOMP_WIDTH, true);
+        return new ECPublicKeyParameters(point, domain);
+    }
+
+    private boolean verifyQuietly(Request request) {
+        try {
+            return verify(request.message, request.signature, request.publicKey);
+        } catch (InvalidKeyException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private final class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Request> requests;
+        private final boolean[] results;
+        private final int from;
+        private final int to;
+
+        Batch(List<Request> requests, boolean[] results, int from, int to) {
+            this.requests = requests;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = verifyQuietly(requests.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Batch(requests, results, from, middle), new Batch(requests, results, middle, to));
+        }
+    }
+
+    /**
+     * One (message, signature, public key) triple to verify.
+     *
+     * @since 1.0
+     */
+    public static final class Request {
+        private final byte[] message;
+        private final byte[] signature;
+        private final PublicKey publicKey;
+
+        /**
+         * @param message the original message that was signed; not copied
+         * @param signature the DER-encoded ECDSA signature; not copied
+         * @param publicKey the signer's EC public key
+         */
+        public Request(byte[] message, byte[] signature, PublicKey publicKey) {
+            this.message = message;
+            this.signature = signature;
+            this.publicKey = publicKey;
+        }
+    }
+}
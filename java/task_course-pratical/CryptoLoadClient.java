@@ -0,0 +1,213 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for {@link CryptoServer}: keeps a fixed number of pipelined requests in flight on each
+ * connection for a fixed time, then reports requests per second and latency percentiles.
+ * <p>
+ * {@code java CryptoLoadClient [--port 9090] [--op sign-pss] [--key 1] [--connections 4] [--depth 32]
+ * [--seconds 10] [--warmup 3] [--size 32]}
+ * <p>
+ * Operations: {@code sign-pkcs1}, {@code verify-pkcs1}, {@code sign-pss}, {@code verify-pss}, {@code sign-ecdsa},
+ * {@code verify-ecdsa}, {@code encrypt}, {@code decrypt}. Verify and decrypt first fetch one signature or
+ * ciphertext from the server and then replay it. Latencies are measured from the write of a request to the
+ * read of its response and kept in a {@link CryptoMetrics} histogram; the warm-up samples are discarded.
+ *
+ * @since 1.0
+ */
+public class CryptoLoadClient {
+    private static final Map<String, Byte> OPERATIONS = Map.of(
+            "sign-pkcs1", CryptoServer.SIGN_PKCS1, "verify-pkcs1", CryptoServer.VERIFY_PKCS1,
+            "sign-pss", CryptoServer.SIGN_PSS, "verify-pss", CryptoServer.VERIFY_PSS,
+            "sign-ecdsa", CryptoServer.SIGN_ECDSA, "verify-ecdsa", CryptoServer.VERIFY_ECDSA,
+            "encrypt", CryptoServer.ENCRYPT, "decrypt", CryptoServer.DECRYPT);
+
+    private final byte op;
+    private final long keyId;
+    private final byte[] data;
+    private final byte[] signature;
+    private final int size;
+    private final CryptoMetrics.Operation metrics;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder busy = new LongAdder();
+    private volatile boolean running = true;
+
+    private CryptoLoadClient(byte op, long keyId, byte[] data, byte[] signature, int size, CryptoMetrics.Operation metrics) {
+        this.op = op;
+        this.keyId = keyId;
+        this.data = data;
+        this.signature = signature;
+        this.size = size;
+        this.metrics = metrics;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 9090;
+        String operation = "sign-pss";
+        long keyId = 1;
+        int connections = 4;
+        int depth = 32;
+        int seconds = 10;
+        int warmup = 3;
+        int size = 32;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--op": operation = args[++i]; break;
+                case "--key": keyId = Long.parseLong(args[++i]); break;
+                case "--connections": connections = Integer.parseInt(args[++i]); break;
+                case "--depth": depth = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        Byte op = OPERATIONS.get(operation);
+        if (op == null) {
+            throw new IllegalArgumentException("Unknown operation: " + operation + ", expected one of " + OPERATIONS.keySet());
+        }
+
+        byte[] message = new byte[size];
+        new SecureRandom().nextBytes(message);
+        byte[] data = message;
+        byte[] signature = new byte[0];
+        if (op == CryptoServer.VERIFY_PKCS1 || op == CryptoServer.VERIFY_PSS || op == CryptoServer.VERIFY_ECDSA) {
+            signature = call(port, (byte) (op - 1), keyId, message, new byte[0]);          // The matching sign operation
+        } else if (op == CryptoServer.DECRYPT) {
+            data = call(port, CryptoServer.ENCRYPT, keyId, message, new byte[0]);
+        }
+
+        CryptoMetrics.Operation metrics = CryptoMetrics.operation("request", "CryptoServer " + operation);
+        CryptoMetrics.Stats latencies = metrics.stats(size);
+        CryptoLoadClient client = new CryptoLoadClient(op, keyId, data, signature, size, metrics);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            threads.addAll(client.start(socket, depth, i));
+        }
+
+        TimeUnit.SECONDS.sleep(warmup);
+        latencies.reset();
+        long errorsBefore = client.errors.sum();
+        long busyBefore = client.busy.sum();
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        long count = latencies.getCount();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        client.running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.printf("%s on key %d: %d connections x %d in flight, %d-byte messages, %d s%n",
+                operation, keyId, connections, depth, size, seconds);
+        System.out.printf("%d requests, %.0f req/s, %d errors, %d busy%n",
+                count, count / elapsed, client.errors.sum() - errorsBefore, client.busy.sum() - busyBefore);
+        System.out.printf("latency µs: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                latencies.getP50Micros(), latencies.getP90Micros(), latencies.getP99Micros(),
+                latencies.getP999Micros(), latencies.getMaxMicros());
+    }
+
+    // One request on a fresh connection; used to fetch a signature or ciphertext to replay
+    private static byte[] call(int port, byte op, long keyId, byte[] data, byte[] signature) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            writeRequest(out, 0, op, keyId, data, signature);
+            out.flush();
+            int length = in.readInt();
+            in.readInt();                                                          // Request id
+            byte status = in.readByte();
+            byte[] payload = in.readNBytes(length - 5);
+            if (status != CryptoServer.OK) {
+                throw new IOException("Server answered status " + status + ": " + new String(payload, StandardCharsets.UTF_8));
+            }
+            return payload;
+        }
+    }
+
+    private static void writeRequest(DataOutputStream out, int id, byte op, long keyId, byte[] data, byte[] signature) throws IOException {
+        out.writeInt(CryptoServer.REQUEST_HEADER + data.length + signature.length);
+        out.writeInt(id);
+        out.writeByte(op);
+        out.writeLong(keyId);
+        out.writeInt(data.length);
+        out.write(data);
+        out.write(signature);
+    }
+
+    // A sender keeps `depth` requests outstanding; a receiver matches responses to their send time by id
+    private List<Thread> start(Socket socket, int depth, int number) throws IOException {
+        Semaphore window = new Semaphore(depth);
+        Map<Integer, Long> sentAt = new ConcurrentHashMap<>();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+
+        Thread sender = new Thread(() -> {
+            try {
+                int id = 0;
+                while (running) {
+                    if (!window.tryAcquire()) {
+                        out.flush();                                               // Window full: push the burst out, then wait
+                        if (!window.tryAcquire(100, TimeUnit.MILLISECONDS)) continue;
+                    }
+                    sentAt.put(id, System.nanoTime());
+                    writeRequest(out, id++, op, keyId, data, signature);
+                }
+                out.flush();
+                socket.shutdownOutput();                                           // Server answers what is in flight, then closes
+            } catch (IOException e) {
+                if (running) System.err.println("Send failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "load-client-" + number + "-send");
+
+        Thread receiver = new Thread(() -> {
+            try (socket) {
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (IOException e) {
+                        break;                                                     // Server closed after the last response
+                    }
+                    int id = in.readInt();
+                    byte status = in.readByte();
+                    in.skipNBytes(length - 5);
+                    Long sent = sentAt.remove(id);
+                    if (status == CryptoServer.OK && sent != null) {
+                        metrics.record(size, sent);
+                    } else if (status == CryptoServer.BUSY) {
+                        busy.increment();
+                    } else {
+                        errors.increment();
+                    }
+                    window.release();
+                }
+            } catch (IOException e) {
+                System.err.println("Receive failed: " + e.getMessage());
+            }
+        }, "load-client-" + number + "-receive");
+
+        sender.start();
+        receiver.start();
+        return List.of(sender, receiver);
+    }
+}
@@ -0,0 +1,189 @@
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import java.security.*;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-local cache of initialized {@link Cipher} and {@link Signature} instances.
+ * <p>
+ * {@code getInstance} and {@code init} look up the provider and parse the key on every call. Both
+ * {@code Cipher.doFinal} and {@code Signature.sign}/{@code verify} reset the object to its initialized
+ * state, so an instance can be reused for the same (algorithm, mode, key) without calling them again.
+ * Each thread keeps its own instances, so none is ever shared between threads, and at most
+ * {@value #MAX_ENTRIES_PER_THREAD} entries per thread are kept (least recently used goes first).
+ * <p>
+ * Keys are matched by identity: callers should keep reusing the same {@code Key} object
+ * (e.g. the one from a {@code KeyPair}) to get hits.
+ *
+ * @since 1.0
+ */
+public final class CryptoPrimitiveCache {
+    private static final int MAX_ENTRIES_PER_THREAD = 64;
+    private static final int SIGN = 1;
+    private static final int VERIFY = 2;
+
+    private static final ThreadLocal<Map<CacheKey, Object>> CACHE = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, Object> eldest) {
+                    return size() > MAX_ENTRIES_PER_THREAD;
+                }
+            });
+
+    private CryptoPrimitiveCache() {
+    }
+
+    /**
+     * Returns a {@code Cipher} for {@code transformation} initialized with {@code opmode} and {@code key},
+     * reusing the calling thread's instance when there is one.
+     *
+     * @param transformation the cipher transformation, e.g. {@code "RSA/ECB/OAEPWithSHA-256AndMGF1Padding"}
+     * @param opmode {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+     * @param key the key to initialize the cipher with
+     * @return an initialized cipher, owned by the calling thread
+     *
+     * @throws NoSuchAlgorithmException if the transformation is not available
+     * @throws NoSuchPaddingException if the padding scheme is not available
+     * @throws InvalidKeyException if the key is invalid for the transformation
+     */
+    public static Cipher cipher(String transformation, int opmode, Key key)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException {
+        CacheKey cacheKey = new CacheKey(transformation, null, null, opmode, key);
+        Map<CacheKey, Object> cache = CACHE.get();
+        Cipher cipher = (Cipher) cache.get(cacheKey);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(transformation);
+            cipher.init(opmode, key);
+            cache.put(cacheKey, cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * Returns a {@code Signature} initialized for signing with {@code privateKey}.
+     *
+     * @param algorithm the signature algorithm, e.g. {@code "SHA256withECDSA"}
+     * @param provider the provider to use, or {@code null} for the default provider order
+     * @param parameters algorithm parameters (e.g. a {@code PSSParameterSpec}), or {@code null}; matched by identity
+     * @param privateKey the signing key
+     * @return an initialized signature object, owned by the calling thread
+     *
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws InvalidKeyException if the key is invalid for the algorithm
+     * @throws InvalidAlgorithmParameterException if the parameters are invalid
+     */
+    public static Signature signer(String algorithm, Provider provider, AlgorithmParameterSpec parameters, PrivateKey privateKey)
+            throws NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
+        CacheKey cacheKey = new CacheKey(algorithm, provider, parameters, SIGN, privateKey);
+        Map<CacheKey, Object> cache = CACHE.get();
+        Signature signature = (Signature) cache.get(cacheKey);
+        if (signature == null) {
+            signature = newSignature(algorithm, provider, parameters);
+            signature.initSign(privateKey);
+            cache.put(cacheKey, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Returns a {@code Signature} initialized for verification with {@code publicKey}.
+     *
+     * @param algorithm the signature algorithm, e.g. {@code "SHA256withECDSA"}
+     * @param provider the provider to use, or {@code null} for the default provider order
+     * @param parameters algorithm parameters (e.g. a {@code PSSParameterSpec}), or {@code null}; matched by identity
+     * @param publicKey the verification key
+     * @return an initialized signature object, owned by the calling thread
+     *
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws InvalidKeyException if the key is invalid for the algorithm
+     * @throws InvalidAlgorithmParameterException if the parameters are invalid
+     */
+    public static Signature verifier(String algorithm, Provider provider, AlgorithmParameterSpec parameters, PublicKey publicKey)
+            throws NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
+        CacheKey cacheKey = new CacheKey(algorithm, provider, parameters, VERIFY, publicKey);
+        Map<CacheKey, Object> cache = CACHE.get();
+        Signature signature = (Signature) cache.get(cacheKey);
+        if (signature == null) {
+            signature = newSignature(algorithm, provider, parameters);
+            signature.initVerify(publicKey);
+            cache.put(cacheKey, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Drops the calling thread's cipher for ({@code transformation}, {@code opmode}, {@code key}), if cached.
+     * <p>
+     * Call it after an operation failed halfway, so a cipher in an unknown state is never reused;
+     * the instances cached for other keys stay warm.
+     *
+     * @param transformation the cipher transformation the instance was requested with
+     * @param opmode the mode the instance was requested with
+     * @param key the key the instance was requested with
+     */
+    public static void evict(String transformation, int opmode, Key key) {
+        CACHE.get().remove(new CacheKey(transformation, null, null, opmode, key));
+    }
+
+    /**
+     * Drops {@code signature} from the calling thread's cache, if it came from there.
+     * <p>
+     * Call it after a sign or verify failed halfway, so a half-fed signature is never reused;
+     * the instances cached for other keys stay warm.
+     *
+     * @param signature the instance returned by {@link #signer} or {@link #verifier}
+     */
+    public static void evict(Signature signature) {
+        CACHE.get().values().removeIf(cached -> cached == signature);   // Failure path only: a scan of at most 64 entries
+    }
+
+    /**
+     * Drops every cached instance of the calling thread.
+     */
+    public static void clear() {
+        CACHE.get().clear();
+    }
+
+    private static Signature newSignature(String algorithm, Provider provider, AlgorithmParameterSpec parameters)
+            throws NoSuchAlgorithmException, InvalidAlgorithmParameterException {
+        Signature signature = provider == null ? Signature.getInstance(algorithm) : Signature.getInstance(algorithm, provider);
+        if (parameters != null) {
+            signature.setParameter(parameters);
+        }
+        return signature;
+    }
+
+    /**
+     * Cache key: algorithm, provider and mode by value; parameters and key by identity.
+     */
+    private static final class CacheKey {
+        private final String algorithm;
+        private final Provider provider;
+        private final AlgorithmParameterSpec parameters;
+        private final int mode;
+        private final Key key;
+
+        CacheKey(String algorithm, Provider provider, AlgorithmParameterSpec parameters, int mode, Key key) {
+            this.algorithm = algorithm;
+            this.provider = provider;
+            this.parameters = parameters;
+            this.mode = mode;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof CacheKey)) return false;
+            CacheKey that = (CacheKey) other;
+            return mode == that.mode && key == that.key && provider == that.provider
+                    && parameters == that.parameters && algorithm.equals(that.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * algorithm.hashCode() + mode) + System.identityHashCode(key);
+        }
+    }
+}
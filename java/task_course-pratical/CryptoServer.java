@@ -0,0 +1,483 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Loopback TCP server for RSA and ECDSA signatures and RSA-OAEP encryption, meant to run as a sidecar.
+ * <p>
+ * <b>Framing</b> (big-endian, one frame per request and per response):
+ * <pre>
+ *   request:  length u32 | requestId u32 | op u8 | keyId u64 | dataLength u32 | data | signature (rest of the frame, verify only)
+ *   response: length u32 | requestId u32 | status u8 | payload
+ * </pre>
+ * {@code length} counts the bytes after itself. The payload is the signature, ciphertext or plaintext, one byte
+ * (1 valid, 0 invalid) for a verification, or a UTF-8 message when the status is not {@link #OK}.
+ * <p>
+ * <b>Pipelining:</b> a client may send many requests without waiting; responses carry the request id and may come
+ * back in any order. Each connection has at most {@link #MAX_IN_FLIGHT} requests outstanding, after which the
+ * server stops reading from it (TCP backpressure).
+ * <p>
+ * <b>Micro-batching:</b> requests for the same key and operation join one queue. The first request schedules a
+ * batch on the {@link CryptoService} lane; everything that arrives before a lane thread picks it up runs in the
+ * same batch (up to {@link #MAX_BATCH}), back to back on one thread, so the cached {@code Signature}/{@code Cipher}
+ * for that key (see {@link CryptoPrimitiveCache}) or the precomputed ECDSA public key (see {@link BatchECDSAVerifier})
+ * is set up once per batch. An idle server adds no wait: a lone request runs immediately. When the lane's queue
+ * is full the requests are answered with {@link #BUSY}.
+ * <p>
+ * Keys are looked up by id, e.g. from a {@link KeyRing}.
+ *
+ * @since 1.0
+ */
+public class CryptoServer implements AutoCloseable {
+
+    // Operations
+    public static final byte SIGN_PKCS1 = 1;                                       // SHA256withRSA
+    public static final byte VERIFY_PKCS1 = 2;
+    public static final byte SIGN_PSS = 3;                                         // RSASSA-PSS, SHA-256
+    public static final byte VERIFY_PSS = 4;
+    public static final byte SIGN_ECDSA = 5;                                       // SHA256withECDSA
+    public static final byte VERIFY_ECDSA = 6;
+    public static final byte ENCRYPT = 7;                                          // RSA-OAEP, SHA-256
+    public static final byte DECRYPT = 8;
+    private static final int OPERATIONS = 8;
+
+    // Response status
+    public static final byte OK = 0;
+    public static final byte ERROR = 1;                                            // The operation threw (wrong key type, bad ciphertext, ...)
+    public static final byte BUSY = 2;                                             // Lane queue full or server closing: retry later
+    public static final byte UNKNOWN_KEY = 3;
+    public static final byte BAD_REQUEST = 4;                                      // Unknown operation
+
+    public static final int MAX_FRAME = 1 << 20;
+    public static final int MAX_IN_FLIGHT = 1024;                                  // Per connection
+    public static final int MAX_BATCH = 64;
+    static final int REQUEST_HEADER = 4 + 1 + 8 + 4;                               // requestId, op, keyId, dataLength
+
+    private final ServerSocket serverSocket;
+    private final LongFunction<KeyPair> keys;
+    private final CryptoService service;
+    private final boolean ownsService;
+    private final RSAEncrypt rsaEncrypt = new RSAEncrypt();
+    private final RSASignature rsaSignature = new RSASignature();
+    private final ECDSASignature ecdsaSignature = new ECDSASignature();
+    private final BatchECDSAVerifier ecdsaVerifier = new BatchECDSAVerifier();
+    private final Map<Long, BatchQueue[]> queues = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    // Metrics
+    private final LongAdder requests = new LongAdder();                            // requests answered, any status
+    private final LongAdder batches = new LongAdder();                             // batches run; requests / batches is the mean batch size
+    private final LongAdder busy = new LongAdder();                                // requests answered BUSY
+
+    /**
+     * Starts a server on the loopback interface with its own {@link CryptoService}.
+     *
+     * @param port the TCP port, or 0 for any free port (see {@link #getPort()})
+     * @param keys returns the key pair for an id, or {@code null} if there is none; called on connection threads
+     *
+     * @throws IOException if the port cannot be bound
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * KeyRing keyRing = KeyRing.open(Paths.get("keys.ring"), 1024);
+     * try (CryptoServer cryptoServer = new CryptoServer(9090, id -> CryptoServer.lookup(keyRing, id))) {
+     *     System.out.println("Listening on port " + cryptoServer.getPort());
+     * }
+     * }</pre>
+     */
+    public CryptoServer(int port, LongFunction<KeyPair> keys) throws IOException {
+        this(port, keys, new CryptoService(), true);
+    }
+
+    /**
+     * Starts a server on the loopback interface that runs its batches on a shared {@link CryptoService}.
+     *
+     * @param port the TCP port, or 0 for any free port (see {@link #getPort()})
+     * @param keys returns the key pair for an id, or {@code null} if there is none; called on connection threads
+     * @param service runs the batches; stays open when the server closes
+     *
+     * @throws IOException if the port cannot be bound
+     *
+     * @since 1.0
+     */
+    public CryptoServer(int port, LongFunction<KeyPair> keys, CryptoService service) throws IOException {
+        this(port, keys, service, false);
+    }
+
+    private CryptoServer(int port, LongFunction<KeyPair> keys, CryptoService service, boolean ownsService) throws IOException {
+        this.keys = keys;
+        this.service = service;
+        this.ownsService = ownsService;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());   // Sidecar: never reachable from outside
+        Thread acceptor = new Thread(this::accept, "crypto-server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Runs a server until the JVM is stopped, then prints the crypto metrics.
+     * <p>
+     * {@code java CryptoServer [port] [keyring file]}: without a key ring it generates key 1 (RSA 2048)
+     * and key 2 (EC secp256k1) in memory.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        LongFunction<KeyPair> keys;
+        String description;
+        if (args.length > 1) {
+            KeyRing keyRing = KeyRing.open(Paths.get(args[1]), 1024);
+            keys = id -> lookup(keyRing, id);
+            description = keyRing.size() + " keys from " + args[1];
+        } else {
+            CryptoUtils cryptoUtils = new CryptoUtils();
+            Map<Long, KeyPair> generated = Map.of(1L, cryptoUtils.generateRSAKeyPair(), 2L, cryptoUtils.generateECDSAKeyPair());
+            keys = generated::get;
+            description = "key 1 = RSA 2048, key 2 = EC secp256k1";
+        }
+
+        CryptoServer cryptoServer = new CryptoServer(port, keys);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            cryptoServer.close();
+            System.out.println(cryptoServer.getRequests() + " requests in " + cryptoServer.getBatches() + " batches, "
+                    + cryptoServer.getBusy() + " busy");
+            System.out.print(CryptoMetrics.dump());
+            stopped.countDown();
+        }));
+        System.out.println("CryptoServer listening on " + cryptoServer.serverSocket.getLocalSocketAddress() + " (" + description + ")");
+        stopped.await();
+    }
+
+    /**
+     * Key lookup for a {@link KeyRing}: {@code null} for ids the ring does not hold.
+     */
+    public static KeyPair lookup(KeyRing keyRing, long id) {
+        try {
+            return keyRing.contains(id) ? keyRing.getKeyPair(id) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getBusy() {
+        return busy.sum();
+    }
+
+    /**
+     * Stops accepting, closes every connection and, if the server created it, the {@link CryptoService}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        if (ownsService) {
+            service.close();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);                                        // Responses are small and latency-bound
+                Connection connection = new Connection(socket, connectionCount.incrementAndGet());
+                connections.add(connection);
+                connection.start();
+            } catch (IOException e) {
+                if (!closed) System.err.println("CryptoServer accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // Routes one decoded request to the batch queue of its (key, operation)
+    private void dispatch(Request request, long keyId) {
+        if (request.op < 1 || request.op > OPERATIONS) {
+            request.reply(BAD_REQUEST, message("Unknown operation " + request.op));
+            return;
+        }
+        KeyPair keyPair;
+        try {
+            keyPair = keys.apply(keyId);
+        } catch (RuntimeException e) {
+            request.reply(ERROR, message("Key lookup failed: " + e.getMessage()));
+            return;
+        }
+        if (keyPair == null) {
+            request.reply(UNKNOWN_KEY, message("Unknown key " + keyId));
+            return;
+        }
+        request.keyPair = keyPair;
+        BatchQueue[] byOperation = queues.computeIfAbsent(keyId, id -> {
+            BatchQueue[] created = new BatchQueue[OPERATIONS];
+            for (int i = 0; i < OPERATIONS; i++) {
+                created[i] = new BatchQueue((byte) (i + 1));
+            }
+            return created;
+        });
+        byOperation[request.op - 1].add(request);
+    }
+
+    private static byte[] message(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Pending requests for one (key, operation); at most one batch of it is scheduled at a time
+    private final class BatchQueue {
+        private final CryptoService.Lane lane;
+        private final Queue<Request> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        BatchQueue(byte op) {
+            this.lane = op == SIGN_ECDSA || op == VERIFY_ECDSA ? CryptoService.Lane.ECDSA : CryptoService.Lane.RSA;
+        }
+
+        void add(Request request) {
+            pending.add(request);
+            if (scheduled.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            service.submit(lane, null, () -> {
+                drain();
+                return null;
+            }).whenComplete((ignored, error) -> {
+                if (error != null) {                                               // Lane queue full or service closed
+                    for (Request request; (request = pending.poll()) != null; ) {
+                        busy.increment();
+                        request.reply(BUSY, message("Server busy"));
+                    }
+                    release();
+                }
+            });
+        }
+
+        private void drain() {
+            List<Request> batch = new ArrayList<>();
+            for (Request request; batch.size() < MAX_BATCH && (request = pending.poll()) != null; ) {
+                batch.add(request);
+            }
+            batches.increment();
+            for (Request request : batch) {
+                run(request);
+            }
+            release();                                                             // Leftovers go back to the lane, behind other keys
+        }
+
+        private void release() {
+            scheduled.set(false);
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+    }
+
+    private void run(Request request) {
+        KeyPair keyPair = request.keyPair;
+        byte[] result;
+        try {
+            switch (request.op) {
+                case SIGN_PKCS1: result = rsaSignature.defaultSignature(request.data, keyPair.getPrivate()); break;
+                case VERIFY_PKCS1: result = flag(rsaSignature.verifyDefaultSignature(request.data, request.signature, keyPair.getPublic())); break;
+                case SIGN_PSS: result = rsaSignature.modernSignature(request.data, keyPair.getPrivate()); break;
+                case VERIFY_PSS: result = flag(rsaSignature.verifyModernSignature(request.data, request.signature, keyPair.getPublic())); break;
+                case SIGN_ECDSA: result = ecdsaSignature.signature(request.data, keyPair.getPrivate()); break;
+                case VERIFY_ECDSA: result = flag(verifyEcdsa(request.data, request.signature, keyPair)); break;
+                case ENCRYPT: result = rsaEncrypt.encryptMessage(request.data, keyPair); break;
+                default: result = rsaEncrypt.decryptMessage(request.data, keyPair); break;
+            }
+        } catch (Exception e) {
+            request.reply(ERROR, message(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            return;
+        }
+        request.reply(OK, result);
+    }
+
+    // secp256k1 keys keep their decoded point and WNAF table in the batch verifier; other curves go through the JCA
+    private boolean verifyEcdsa(byte[] message, byte[] signature, KeyPair keyPair) throws Exception {
+        try {
+            return ecdsaVerifier.verify(message, signature, keyPair.getPublic());
+        } catch (InvalidKeyException e) {
+            return ecdsaSignature.verifySignature(message, signature, keyPair.getPublic());
+        }
+    }
+
+    private static byte[] flag(boolean valid) {
+        return new byte[]{(byte) (valid ? 1 : 0)};
+    }
+
+    private final class Request {
+        private final Connection connection;
+        private final int id;
+        private final byte op;
+        private final byte[] data;
+        private final byte[] signature;
+        private KeyPair keyPair;
+
+        Request(Connection connection, int id, byte op, byte[] data, byte[] signature) {
+            this.connection = connection;
+            this.id = id;
+            this.op = op;
+            this.data = data;
+            this.signature = signature;
+        }
+
+        void reply(byte status, byte[] payload) {
+            requests.increment();
+            connection.send(id, status, payload);
+        }
+    }
+
+    // One client socket: a reader thread decodes and dispatches, a writer thread sends the responses
+    private final class Connection {
+        private final Socket socket;
+        private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        private final BlockingQueue<byte[]> responses = new LinkedBlockingQueue<>();
+        private final byte[] end = new byte[0];                                    // Queued after the last response of a finished client
+        private final Thread reader;
+        private final Thread writer;
+
+        Connection(Socket socket, int number) {
+            this.socket = socket;
+            this.reader = new Thread(this::read, "crypto-server-" + number + "-read");
+            this.writer = new Thread(this::write, "crypto-server-" + number + "-write");
+            reader.setDaemon(true);
+            writer.setDaemon(true);
+        }
+
+        void start() {
+            writer.start();
+            reader.start();
+        }
+
+        private void read() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+                while (!closed) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        // Client is done sending: answer what is still in flight, then the writer closes the socket
+                        inFlight.acquire(MAX_IN_FLIGHT);
+                        responses.add(end);
+                        return;
+                    }
+                    if (length < REQUEST_HEADER || length > MAX_FRAME) {
+                        throw new IOException("Bad frame length " + length);
+                    }
+                    int id = in.readInt();
+                    byte op = in.readByte();
+                    long keyId = in.readLong();
+                    int dataLength = in.readInt();
+                    if (dataLength < 0 || dataLength > length - REQUEST_HEADER) {
+                        throw new IOException("Bad data length " + dataLength + " in a frame of " + length);
+                    }
+                    byte[] data = in.readNBytes(dataLength);
+                    byte[] signature = in.readNBytes(length - REQUEST_HEADER - dataLength);
+                    if (data.length + signature.length != length - REQUEST_HEADER) throw new EOFException("Truncated frame");
+
+                    inFlight.acquire();                                            // Full: stop reading until responses go out
+                    dispatch(new Request(this, id, op, data, signature), keyId);
+                }
+            } catch (IOException e) {
+                if (!closed && !socket.isClosed()) System.err.println("CryptoServer connection dropped: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            close();
+        }
+
+        void send(int id, byte status, byte[] payload) {
+            ByteBuffer frame = ByteBuffer.allocate(4 + 4 + 1 + payload.length);
+            frame.putInt(4 + 1 + payload.length).putInt(id).put(status).put(payload);
+            responses.add(frame.array());
+            inFlight.release();
+        }
+
+        // Writes whatever is queued, then flushes once: pipelined responses share syscalls
+        private void write() {
+            try {
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 1 << 16);
+                boolean last = false;
+                while (!last && !socket.isClosed()) {
+                    byte[] frame = responses.take();
+                    do {
+                        if (frame == end) {
+                            last = true;
+                            break;
+                        }
+                        out.write(frame);
+                    } while ((frame = responses.poll()) != null);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // Client went away; close() below drops the rest
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            close();
+        }
+
+        void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+            writer.interrupt();
+        }
+    }
+}
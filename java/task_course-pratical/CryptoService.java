@@ -0,0 +1,425 @@
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous front end for RSA encryption, RSA and ECDSA signatures and key generation.
+ * <p>
+ * Every call returns a {@code CompletableFuture} at once; the work runs on a small pool of daemon threads
+ * per {@link Lane}, so request or I/O threads never execute a private-key operation themselves. Each lane
+ * has a fixed number of threads (its concurrency limit) and a bounded queue: when the queue is full the call
+ * is rejected right away with a {@code RejectedExecutionException} instead of piling up work. Lanes are
+ * separate so slow key generation cannot hold up signatures, and their threads run one priority step below
+ * normal so crypto load yields to the I/O threads.
+ * <p>
+ * A call may carry a deadline: if it expires first the future fails with a {@code TimeoutException}, and a
+ * call still waiting in the queue is dropped without running. Cancelling the future also drops a queued call.
+ * A result completes the future on its lane thread, a timeout on {@code CompletableFuture}'s default async pool,
+ * so the deadline timer never runs callbacks and one slow callback cannot delay other calls' deadlines.
+ * A call that has already started runs to completion (a single RSA operation takes milliseconds and cannot be
+ * interrupted), but its result is discarded.
+ * <p>
+ * The work is CPU-bound, so it runs on platform threads sized to the cores: virtual threads would only add
+ * scheduling on top of the same carrier threads.
+ *
+ * @since 1.0
+ */
+public class CryptoService implements AutoCloseable {
+
+    /**
+     * Independent thread pools; each operation runs on one of them.
+     */
+    public enum Lane {
+        RSA,                                                                       // OAEP encrypt/decrypt, PKCS#1 and PSS signatures
+        ECDSA,                                                                     // ECDSA signatures
+        KEYGEN                                                                     // RSA and EC key generation
+    }
+
+    private final RSAEncrypt rsaEncrypt = new RSAEncrypt();
+    private final RSASignature rsaSignature = new RSASignature();
+    private final ECDSASignature ecdsaSignature = new ECDSASignature();
+    private final CryptoUtils cryptoUtils = new CryptoUtils();
+
+    private final LaneExecutor[] lanes = new LaneExecutor[Lane.values().length];
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final Duration defaultTimeout;
+    private volatile boolean closed;
+
+    /**
+     * Creates a service with half the cores for RSA, half for ECDSA, one key generation thread,
+     * a queue of 1024 calls per lane and no default deadline.
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * try (CryptoService cryptoService = new CryptoService()) {
+     *     KeyPair rsaKeyPair = cryptoService.generateRSAKeyPair().join();
+     *     cryptoService.modernSignature(messageBytes, rsaKeyPair.getPrivate(), Duration.ofMillis(50))
+     *             .thenAccept(signature -> reply(signature))                         // Runs on the RSA lane thread
+     *             .exceptionally(error -> { replyBusy(); return null; });            // Rejected, or past the deadline (async pool)
+     * }
+     * }</pre>
+     */
+    public CryptoService() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 1, 1024, null);
+    }
+
+    /**
+     * Creates a service with explicit limits.
+     *
+     * @param rsaThreads the number of RSA operations that run at once, at least 1
+     * @param ecdsaThreads the number of ECDSA operations that run at once, at least 1
+     * @param keygenThreads the number of key pairs generated at once, at least 1
+     * @param queueCapacity the number of calls each lane holds while its threads are busy, at least 1
+     * @param defaultTimeout the deadline for calls made without one, or {@code null} for none
+     *
+     * @throws IllegalArgumentException if a thread count or the queue capacity is less than 1, or the timeout is not positive
+     *
+     * @since 1.0
+     */
+    public CryptoService(int rsaThreads, int ecdsaThreads, int keygenThreads, int queueCapacity, Duration defaultTimeout) {
+        if (rsaThreads < 1 || ecdsaThreads < 1 || keygenThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Thread counts and queue capacity must be at least 1: rsa=" + rsaThreads
+                    + ", ecdsa=" + ecdsaThreads + ", keygen=" + keygenThreads + ", queue=" + queueCapacity);
+        }
+        if (defaultTimeout != null && (defaultTimeout.isNegative() || defaultTimeout.isZero())) {
+            throw new IllegalArgumentException("Default timeout must be positive: " + defaultTimeout);
+        }
+        this.defaultTimeout = defaultTimeout;
+        lanes[Lane.RSA.ordinal()] = new LaneExecutor("rsa", rsaThreads, queueCapacity);
+        lanes[Lane.ECDSA.ordinal()] = new LaneExecutor("ecdsa", ecdsaThreads, queueCapacity);
+        lanes[Lane.KEYGEN.ordinal()] = new LaneExecutor("keygen", keygenThreads, queueCapacity);
+
+        deadlines = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "crypto-service-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlines.setRemoveOnCancelPolicy(true);                                   // Met deadlines do not linger in the timer queue
+    }
+
+    /**
+     * Runs any call on a lane. The convenience methods below all go through here.
+     *
+     * @param lane the pool to run on
+     * @param timeout the deadline from now, or {@code null} for none
+     * @param work the call; runs on a lane thread
+     * @return a future completed with the result, or failed with the call's exception, a {@code TimeoutException}
+     *         after the deadline, or a {@code RejectedExecutionException} if the lane's queue is full or the service is closed
+     *
+     * @since 1.0
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Duration timeout, Callable<T> work) {
+        LaneExecutor executor = lanes[lane.ordinal()];
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.submitted.increment();
+        if (closed) {
+            executor.rejected.increment();
+            result.completeExceptionally(new RejectedExecutionException("CryptoService is closed."));
+            return result;
+        }
+
+        Job<T> job = new Job<>(executor, work, result);
+        try {
+            executor.pool.execute(job);
+        } catch (RejectedExecutionException e) {
+            executor.rejected.increment();
+            result.completeExceptionally(new RejectedExecutionException("CryptoService " + executor.name + " queue is full ("
+                    + executor.pool.getQueue().size() + " waiting)."));
+            return result;
+        }
+
+        // The timer thread only hands the timeout over: dependent stages run on the async pool, not on it
+        ScheduledFuture<?> timer = timeout == null ? null : deadlines.schedule(() -> CompletableFuture.runAsync(() -> {
+            if (result.completeExceptionally(new TimeoutException("CryptoService " + executor.name + " call exceeded " + timeout + "."))) {
+                executor.expired.increment();
+            }
+        }), timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        result.whenComplete((value, error) -> {
+            if (timer != null) timer.cancel(false);
+            if (result.isCancelled()) executor.cancelled.increment();
+            if (error != null && !job.started) {
+                executor.pool.remove(job);                                         // Frees the queue slot now, not when a thread reaches it
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Encrypts with RSA-OAEP ({@link RSAEncrypt#encryptMessage}) on the RSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<byte[]> encryptMessage(byte[] message, KeyPair keyPair) {
+        return submit(Lane.RSA, defaultTimeout, () -> rsaEncrypt.encryptMessage(message, keyPair));
+    }
+
+    public CompletableFuture<byte[]> encryptMessage(byte[] message, KeyPair keyPair, Duration timeout) {
+        return submit(Lane.RSA, timeout, () -> rsaEncrypt.encryptMessage(message, keyPair));
+    }
+
+    /**
+     * Decrypts with RSA-OAEP ({@link RSAEncrypt#decryptMessage}) on the RSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<byte[]> decryptMessage(byte[] cipherMessage, KeyPair keyPair) {
+        return submit(Lane.RSA, defaultTimeout, () -> rsaEncrypt.decryptMessage(cipherMessage, keyPair));
+    }
+
+    public CompletableFuture<byte[]> decryptMessage(byte[] cipherMessage, KeyPair keyPair, Duration timeout) {
+        return submit(Lane.RSA, timeout, () -> rsaEncrypt.decryptMessage(cipherMessage, keyPair));
+    }
+
+    /**
+     * Signs with SHA256withRSA ({@link RSASignature#defaultSignature(byte[], PrivateKey)}) on the RSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<byte[]> defaultSignature(byte[] message, PrivateKey privateKey) {
+        return submit(Lane.RSA, defaultTimeout, () -> rsaSignature.defaultSignature(message, privateKey));
+    }
+
+    public CompletableFuture<byte[]> defaultSignature(byte[] message, PrivateKey privateKey, Duration timeout) {
+        return submit(Lane.RSA, timeout, () -> rsaSignature.defaultSignature(message, privateKey));
+    }
+
+    /**
+     * Signs with RSASSA-PSS ({@link RSASignature#modernSignature(byte[], PrivateKey)}) on the RSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<byte[]> modernSignature(byte[] message, PrivateKey privateKey) {
+        return submit(Lane.RSA, defaultTimeout, () -> rsaSignature.modernSignature(message, privateKey));
+    }
+
+    public CompletableFuture<byte[]> modernSignature(byte[] message, PrivateKey privateKey, Duration timeout) {
+        return submit(Lane.RSA, timeout, () -> rsaSignature.modernSignature(message, privateKey));
+    }
+
+    /**
+     * Verifies a SHA256withRSA signature ({@link RSASignature#verifyDefaultSignature(byte[], byte[], PublicKey)}) on the RSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<Boolean> verifyDefaultSignature(byte[] message, byte[] signature, PublicKey publicKey) {
+        return submit(Lane.RSA, defaultTimeout, () -> rsaSignature.verifyDefaultSignature(message, signature, publicKey));
+    }
+
+    public CompletableFuture<Boolean> verifyDefaultSignature(byte[] message, byte[] signature, PublicKey publicKey, Duration timeout) {
+        return submit(Lane.RSA, timeout, () -> rsaSignature.verifyDefaultSignature(message, signature, publicKey));
+    }
+
+    /**
+     * Verifies an RSASSA-PSS signature ({@link RSASignature#verifyModernSignature(byte[], byte[], PublicKey)}) on the RSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<Boolean> verifyModernSignature(byte[] message, byte[] signature, PublicKey publicKey) {
+        return submit(Lane.RSA, defaultTimeout, () -> rsaSignature.verifyModernSignature(message, signature, publicKey));
+    }
+
+    public CompletableFuture<Boolean> verifyModernSignature(byte[] message, byte[] signature, PublicKey publicKey, Duration timeout) {
+        return submit(Lane.RSA, timeout, () -> rsaSignature.verifyModernSignature(message, signature, publicKey));
+    }
+
+    /**
+     * Signs with SHA256withECDSA ({@link ECDSASignature#signature(byte[], PrivateKey)}) on the ECDSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<byte[]> ecdsaSignature(byte[] message, PrivateKey privateKey) {
+        return submit(Lane.ECDSA, defaultTimeout, () -> ecdsaSignature.signature(message, privateKey));
+    }
+
+    public CompletableFuture<byte[]> ecdsaSignature(byte[] message, PrivateKey privateKey, Duration timeout) {
+        return submit(Lane.ECDSA, timeout, () -> ecdsaSignature.signature(message, privateKey));
+    }
+
+    /**
+     * Verifies a SHA256withECDSA signature ({@link ECDSASignature#verifySignature(byte[], byte[], PublicKey)}) on the ECDSA lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<Boolean> verifyEcdsaSignature(byte[] message, byte[] signature, PublicKey publicKey) {
+        return submit(Lane.ECDSA, defaultTimeout, () -> ecdsaSignature.verifySignature(message, signature, publicKey));
+    }
+
+    public CompletableFuture<Boolean> verifyEcdsaSignature(byte[] message, byte[] signature, PublicKey publicKey, Duration timeout) {
+        return submit(Lane.ECDSA, timeout, () -> ecdsaSignature.verifySignature(message, signature, publicKey));
+    }
+
+    /**
+     * Generates a 2048-bit RSA key pair ({@link CryptoUtils#generateRSAKeyPair()}) on the key generation lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<KeyPair> generateRSAKeyPair() {
+        return submit(Lane.KEYGEN, defaultTimeout, cryptoUtils::generateRSAKeyPair);
+    }
+
+    public CompletableFuture<KeyPair> generateRSAKeyPair(Duration timeout) {
+        return submit(Lane.KEYGEN, timeout, cryptoUtils::generateRSAKeyPair);
+    }
+
+    /**
+     * Generates a secp256k1 key pair ({@link CryptoUtils#generateECDSAKeyPair()}) on the key generation lane.
+     *
+     * @since 1.0
+     */
+    public CompletableFuture<KeyPair> generateECDSAKeyPair() {
+        return submit(Lane.KEYGEN, defaultTimeout, cryptoUtils::generateECDSAKeyPair);
+    }
+
+    public CompletableFuture<KeyPair> generateECDSAKeyPair(Duration timeout) {
+        return submit(Lane.KEYGEN, timeout, cryptoUtils::generateECDSAKeyPair);
+    }
+
+    /**
+     * Returns the counters of one lane.
+     *
+     * @since 1.0
+     */
+    public LaneStats stats(Lane lane) {
+        return lanes[lane.ordinal()];
+    }
+
+    /**
+     * Stops accepting calls and fails every queued call with a {@code CancellationException}.
+     * Calls already running finish normally.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (LaneExecutor executor : lanes) {
+            List<Runnable> queued = new ArrayList<>();
+            executor.pool.getQueue().drainTo(queued);
+            executor.pool.shutdown();                                              // No interrupts: running calls finish
+            for (Runnable job : queued) {
+                ((Job<?>) job).result.completeExceptionally(new CancellationException("CryptoService was closed."));
+            }
+        }
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * Waits for the running calls to finish after {@link #close()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if every lane stopped, {@code false} on timeout
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (LaneExecutor executor : lanes) {
+            if (!executor.pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counters of one lane, in the style of {@link KeyPairPool}'s metrics.
+     */
+    public interface LaneStats {
+        int getQueueSize();
+        int getActive();
+        long getSubmitted();
+        long getCompleted();
+        long getFailed();
+        long getRejected();
+        long getCancelled();
+        long getExpired();
+        long getQueueWaitNanos();
+        long getMaxQueueWaitNanos();
+    }
+
+    private static class LaneExecutor implements LaneStats {
+        private final String name;
+        private final ThreadPoolExecutor pool;
+
+        // Metrics
+        private final LongAdder submitted = new LongAdder();                      // calls made, including rejected ones
+        private final LongAdder completed = new LongAdder();                      // calls that returned a result
+        private final LongAdder failed = new LongAdder();                         // calls that threw
+        private final LongAdder rejected = new LongAdder();                       // calls refused: queue full or service closed
+        private final LongAdder cancelled = new LongAdder();                      // futures cancelled by the caller
+        private final LongAdder expired = new LongAdder();                        // calls past their deadline
+        private final LongAdder queueWaitNanos = new LongAdder();                 // time calls spent queued before a thread took them
+        private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+        LaneExecutor(String name, int threads, int queueCapacity) {
+            this.name = name;
+            AtomicInteger count = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "crypto-service-" + name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);                                            // Never keeps the JVM alive
+                thread.setPriority(Thread.NORM_PRIORITY - 1);                      // I/O threads go first
+                return thread;
+            });                                                                    // Default AbortPolicy: a full queue throws
+            pool.prestartAllCoreThreads();
+        }
+
+        @Override public int getQueueSize() { return pool.getQueue().size(); }
+        @Override public int getActive() { return pool.getActiveCount(); }
+        @Override public long getSubmitted() { return submitted.sum(); }
+        @Override public long getCompleted() { return completed.sum(); }
+        @Override public long getFailed() { return failed.sum(); }
+        @Override public long getRejected() { return rejected.sum(); }
+        @Override public long getCancelled() { return cancelled.sum(); }
+        @Override public long getExpired() { return expired.sum(); }
+        @Override public long getQueueWaitNanos() { return queueWaitNanos.sum(); }
+        @Override public long getMaxQueueWaitNanos() { return maxQueueWaitNanos.get(); }
+    }
+
+    private static class Job<T> implements Runnable {
+        private final LaneExecutor executor;
+        private final Callable<T> work;
+        private final CompletableFuture<T> result;
+        private final long queuedAt = System.nanoTime();
+        private volatile boolean started;
+
+        Job(LaneExecutor executor, Callable<T> work, CompletableFuture<T> result) {
+            this.executor = executor;
+            this.work = work;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            long waited = System.nanoTime() - queuedAt;
+            executor.queueWaitNanos.add(waited);
+            executor.maxQueueWaitNanos.accumulate(waited);
+            if (result.isDone()) return;                                           // Cancelled or expired while queued: skip the work
+            try {
+                if (result.complete(work.call())) executor.completed.increment();
+            } catch (Throwable e) {
+                if (result.completeExceptionally(e)) executor.failed.increment();
+            }
+        }
+    }
+}
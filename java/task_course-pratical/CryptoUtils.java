@@ -13,8 +13,33 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
  *     strings, bytes, hexadecimal, and Base64 representations, and storing a predefined message.
  */
 public class CryptoUtils {
+    private static final Provider BOUNCY_CASTLE = registerBouncyCastle();                    // Registered once per JVM, not per call
+    private static final CryptoMetrics.Operation RSA_KEYGEN = CryptoMetrics.operation("keygen", "RSA");
+    private static final CryptoMetrics.Operation EC_KEYGEN = CryptoMetrics.operation("keygen", "EC secp256k1");
     private final String message = "ESTAMOS NA AULA DE CRIPTOGRAFIA";
 
+    /**
+     * Returns the Bouncy Castle provider, registering it with {@link Security} on first use.
+     * <p>
+     * Passing the {@code Provider} object to {@code getInstance} skips the lookup by name that
+     * {@code getInstance(algorithm, "BC")} does on every call.
+     *
+     * @return the registered Bouncy Castle provider
+     * @since 1.0
+     */
+    public static Provider bouncyCastle() {
+        return BOUNCY_CASTLE;
+    }
+
+    private static Provider registerBouncyCastle() {
+        Provider provider = Security.getProvider(BouncyCastleProvider.PROVIDER_NAME);
+        if (provider == null) {
+            provider = new BouncyCastleProvider();
+            Security.addProvider(provider);
+        }
+        return provider;
+    }
+
 
     /**
      * Generates a new RSA key pair with a 2048-bit key size and a standard public exponent (65537).
@@ -37,7 +62,10 @@ public class CryptoUtils {
         KeyPairGenerator keyGenerator = KeyPairGenerator.getInstance("RSA");                           // Get a KeyPairGenerator instance for RSA algorithm
         RSAKeyGenParameterSpec rsaSpec = new RSAKeyGenParameterSpec(2048, RSAKeyGenParameterSpec.F4);   // Set key size to 2048 bits & public exponent t0 65537 - standard
         keyGenerator.initialize(rsaSpec, new SecureRandom());                                                  // Initialize generator with the RSA spec and a secure random seed
-        return keyGenerator.generateKeyPair();                                                                 // Return the generated RSA key pair
+        long start = System.nanoTime();
+        KeyPair keyPair = keyGenerator.generateKeyPair();
+        RSA_KEYGEN.record(2048, start);
+        return keyPair;                                                                                        // Return the generated RSA key pair
     }
 
     /**
@@ -62,11 +90,13 @@ public class CryptoUtils {
      */
     public KeyPair generateECDSAKeyPair()
             throws NoSuchAlgorithmException, NoSuchProviderException, InvalidAlgorithmParameterException {
-        Security.addProvider(new BouncyCastleProvider());
-        KeyPairGenerator keyGenerator = KeyPairGenerator.getInstance("EC", "BC");               // Get a KeyPairGenerator instance for EC algorithm & BC provider
+        KeyPairGenerator keyGenerator = KeyPairGenerator.getInstance("EC", BOUNCY_CASTLE);      // Get a KeyPairGenerator instance for EC algorithm & BC provider
         ECGenParameterSpec ecSpec = new ECGenParameterSpec("secp256k1");                               // Define the curve parameter spec using secp256k1 curve (Bitcoin curve)
         keyGenerator.initialize(ecSpec, new SecureRandom());                                                   // Initialize generator with the curve spec and a secure random seed
-        return keyGenerator.generateKeyPair();                                                                 // Return the generated EC key pair
+        long start = System.nanoTime();
+        KeyPair keyPair = keyGenerator.generateKeyPair();
+        EC_KEYGEN.record(256, start);
+        return keyPair;                                                                                        // Return the generated EC key pair
     }
 
     /**
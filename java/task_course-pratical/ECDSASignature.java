@@ -0,0 +1,269 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.*;
+
+/**
+ * Provides ECDSA (Elliptic Curve Digital Signature Algorithm) signature generation and verification functionality.
+ * <p>
+ * This class supports creating digital signatures using a private key and verifying signatures
+ * using a corresponding public key with SHA-256 hashing and the Bouncy Castle (BC) security provider.
+ * <p>
+ * Initialized {@link Signature} objects are reused per thread and key through {@link CryptoPrimitiveCache}.
+ * Large messages can be signed and verified from an {@link InputStream}, a {@link FileChannel} or a
+ * {@link ByteBuffer} with constant memory (see {@link SignatureStreams}).
+ */
+public class ECDSASignature {
+    private static final String ALGORITHM = "SHA256withECDSA";
+
+    /**
+     * Signs the given message using ECDSA with SHA-256 and the Bouncy Castle provider.
+     * <p>
+     * This method creates a digital signature for the provided message using the specified
+     * elliptic curve private key and the "SHA256withECDSA" algorithm. It leverages the
+     * Bouncy Castle ("BC") provider for cryptographic operations.
+     * </p>
+     *
+     * @param message the byte array representing the message to be signed; must not be {@code null}
+     * @param privateKey the EC private key used to generate the signature; must not be {@code null}
+     * @return a byte array containing the ECDSA digital signature
+     *
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws NoSuchProviderException if the "BC" provider is not registered or available
+     * @throws InvalidKeyException if the provided private key is invalid or incompatible
+     * @throws SignatureException if an error occurs during the signing process
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * CryptoUtils cryptoUtils = new CryptoUtils();
+     * KeyPair ecKeyPair = cryptoUtils.generateECDSAKeyPair();
+     * byte[] messageBytes = cryptoUtils.stringToBytes("Important message");
+     *
+     * ECDSASignature ecSigner = new ECDSASignature();
+     * byte[] ecdsaSign = ecSigner.signature(messageBytes, ecKeyPair.getPrivate());
+     * }</pre>
+     */
+    public byte[] signature(byte[] message, PrivateKey privateKey)
+            throws InvalidKeyException, NoSuchAlgorithmException, NoSuchProviderException, SignatureException {
+        Signature ecdsaSign = signer(privateKey);                                                // Cached Signature object with ECDSA with BC provider
+        return SignatureStreams.sign(ecdsaSign, privateKey, ByteBuffer.wrap(message));          // Digital Signature - resets the object for the next call
+    }
+
+
+    /**
+     * Verifies the authenticity of a digital signature using ECDSA with SHA-256 and the Bouncy Castle provider.
+     * <p>
+     * This method validates whether a given signature was created using the corresponding private key
+     * associated with the provided public key. It uses the "SHA256withECDSA" algorithm and the Bouncy Castle
+     * security provider for cryptographic verification.
+     * </p>
+     *
+     * @param message the original byte array message that was signed; must not be {@code null}
+     * @param signature the byte array containing the digital signature to verify; must not be {@code null}
+     * @param publicKey the EC public key used to verify the signature; must not be {@code null}
+     * @return {@code true} if the signature is valid for the given message and public key, {@code false} otherwise
+     *
+     * @throws InvalidKeyException if the provided public key is invalid or incompatible
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws NoSuchProviderException if the "BC" provider is not registered or available
+     * @throws SignatureException if an error occurs during the signature verification process
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * CryptoUtils cryptoUtils = new CryptoUtils();
+     * KeyPair ecKeyPair = cryptoUtils.generateECDSAKeyPair(); - same key pair as above
+     * byte[] messageBytes = cryptoUtils.stringToBytes("Important message"); - same message as above
+     *
+     * ECDSASignature ecSigner = new ECDSASignature();
+     * boolean ecIsValid = ecSigner.verifySignature(messageBytes, ecdsaSign, ecKeyPair.getPublic());
+     */
+    public boolean verifySignature(byte[] message, byte[] signature, PublicKey publicKey)
+            throws InvalidKeyException, NoSuchAlgorithmException, NoSuchProviderException, SignatureException {
+        Signature ecdsaVerify = verifier(publicKey);                                             // Cached Signature object with ECDSA with BC provider
+        return SignatureStreams.verify(ecdsaVerify, publicKey, ByteBuffer.wrap(message), signature);   // Verify Signature - returns true || false
+    }
+
+    /**
+     * Verifies an ECDSA signature like {@link #verifySignature(byte[], byte[], PublicKey)}, skipping the
+     * elliptic-curve work when this exact (key, message, signature) already verified within the cache's TTL.
+     *
+     * @param message the original byte array message that was signed; must not be {@code null}
+     * @param signature the byte array containing the digital signature to verify; must not be {@code null}
+     * @param publicKey the EC public key used to verify the signature; must not be {@code null}
+     * @param cache remembers successful verifications; must not be {@code null}
+     * @return {@code true} if the signature is valid for the given message and public key, {@code false} otherwise
+     *
+     * @throws InvalidKeyException if the provided public key is invalid or incompatible
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws NoSuchProviderException if the "BC" provider is not registered or available
+     * @throws SignatureException if an error occurs during the signature verification process
+     *
+     * @since 1.0
+     */
+    public boolean verifySignature(byte[] message, byte[] signature, PublicKey publicKey, VerificationCache cache)
+            throws InvalidKeyException, NoSuchAlgorithmException, NoSuchProviderException, SignatureException {
+        try {
+            return cache.verify(ALGORITHM, publicKey, message, signature, () -> verifySignature(message, signature, publicKey));
+        } catch (InvalidKeyException | NoSuchAlgorithmException | NoSuchProviderException | SignatureException e) {
+            throw e;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unexpected verification failure.", e);               // Unreachable: the verifier throws only the above
+        }
+    }
+
+    /**
+     * Signs everything left in {@code message} using ECDSA with SHA-256, reading it in 64 KiB steps.
+     * <p>
+     * The stream is read to its end but not closed. Memory use does not depend on the message size.
+     * </p>
+     *
+     * @param message the stream to sign; must not be {@code null}
+     * @param privateKey the EC private key used to generate the signature; must not be {@code null}
+     * @return a byte array containing the ECDSA digital signature
+     *
+     * @throws IOException if reading the stream fails
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws InvalidKeyException if the provided private key is invalid or incompatible
+     * @throws SignatureException if an error occurs during the signing process
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * try (InputStream in = Files.newInputStream(Path.of("release.zip"))) {
+     *     byte[] ecdsaSign = ecSigner.signature(in, ecKeyPair.getPrivate());
+     * }
+     * }</pre>
+     */
+    public byte[] signature(InputStream message, PrivateKey privateKey)
+            throws IOException, InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        return SignatureStreams.sign(signer(privateKey), privateKey, SignatureStreams.of(message));
+    }
+
+    /**
+     * Signs the whole file behind {@code message} using ECDSA with SHA-256, mapping it in 64 MiB windows.
+     * The channel position is not used nor changed.
+     *
+     * @param message the file to sign, open for reading; must not be {@code null}
+     * @param privateKey the EC private key used to generate the signature; must not be {@code null}
+     * @return a byte array containing the ECDSA digital signature
+     *
+     * @throws IOException if mapping the file fails
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws InvalidKeyException if the provided private key is invalid or incompatible
+     * @throws SignatureException if an error occurs during the signing process
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * try (FileChannel channel = FileChannel.open(Path.of("release.zip"))) {
+     *     byte[] ecdsaSign = ecSigner.signature(channel, ecKeyPair.getPrivate());
+     *     boolean ecIsValid = ecSigner.verifySignature(channel, ecdsaSign, ecKeyPair.getPublic());   // Position unused: no rewind
+     * }
+     * }</pre>
+     */
+    public byte[] signature(FileChannel message, PrivateKey privateKey)
+            throws IOException, InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        return SignatureStreams.sign(signer(privateKey), privateKey, SignatureStreams.of(message));
+    }
+
+    /**
+     * Signs the remaining bytes of {@code message} (heap, direct or mapped buffer) using ECDSA with SHA-256.
+     * The buffer position ends at its limit.
+     *
+     * @param message the bytes to sign; must not be {@code null}
+     * @param privateKey the EC private key used to generate the signature; must not be {@code null}
+     * @return a byte array containing the ECDSA digital signature
+     *
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws InvalidKeyException if the provided private key is invalid or incompatible
+     * @throws SignatureException if an error occurs during the signing process
+     *
+     * @since 1.0
+     */
+    public byte[] signature(ByteBuffer message, PrivateKey privateKey)
+            throws InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        return SignatureStreams.sign(signer(privateKey), privateKey, message);
+    }
+
+    /**
+     * Verifies an ECDSA signature over everything left in {@code message}; the stream is not closed.
+     *
+     * @param message the signed stream; must not be {@code null}
+     * @param signature the byte array containing the digital signature to verify; must not be {@code null}
+     * @param publicKey the EC public key used to verify the signature; must not be {@code null}
+     * @return {@code true} if the signature is valid for the given message and public key, {@code false} otherwise
+     *
+     * @throws IOException if reading the stream fails
+     * @throws InvalidKeyException if the provided public key is invalid or incompatible
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws SignatureException if an error occurs during the signature verification process
+     *
+     * @since 1.0
+     */
+    public boolean verifySignature(InputStream message, byte[] signature, PublicKey publicKey)
+            throws IOException, InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        return SignatureStreams.verify(verifier(publicKey), publicKey, SignatureStreams.of(message), signature);
+    }
+
+    /**
+     * Verifies an ECDSA signature over the whole file behind {@code message}, mapped in 64 MiB windows.
+     *
+     * @param message the signed file, open for reading; must not be {@code null}
+     * @param signature the byte array containing the digital signature to verify; must not be {@code null}
+     * @param publicKey the EC public key used to verify the signature; must not be {@code null}
+     * @return {@code true} if the signature is valid for the given message and public key, {@code false} otherwise
+     *
+     * @throws IOException if mapping the file fails
+     * @throws InvalidKeyException if the provided public key is invalid or incompatible
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws SignatureException if an error occurs during the signature verification process
+     *
+     * @since 1.0
+     */
+    public boolean verifySignature(FileChannel message, byte[] signature, PublicKey publicKey)
+            throws IOException, InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        return SignatureStreams.verify(verifier(publicKey), publicKey, SignatureStreams.of(message), signature);
+    }
+
+    /**
+     * Verifies an ECDSA signature over the remaining bytes of {@code message}; its position ends at its limit.
+     *
+     * @param message the signed bytes (heap, direct or mapped buffer); must not be {@code null}
+     * @param signature the byte array containing the digital signature to verify; must not be {@code null}
+     * @param publicKey the EC public key used to verify the signature; must not be {@code null}
+     * @return {@code true} if the signature is valid for the given message and public key, {@code false} otherwise
+     *
+     * @throws InvalidKeyException if the provided public key is invalid or incompatible
+     * @throws NoSuchAlgorithmException if the "SHA256withECDSA" algorithm is not available
+     * @throws SignatureException if an error occurs during the signature verification process
+     *
+     * @since 1.0
+     */
+    public boolean verifySignature(ByteBuffer message, byte[] signature, PublicKey publicKey)
+            throws InvalidKeyException, NoSuchAlgorithmException, SignatureException {
+        return SignatureStreams.verify(verifier(publicKey), publicKey, message, signature);
+    }
+
+    private static Signature signer(PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return CryptoPrimitiveCache.signer(ALGORITHM, CryptoUtils.bouncyCastle(), null, privateKey);
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new IllegalStateException("No parameters are set for ECDSA.", e);             // Unreachable: no parameters passed
+        }
+    }
+
+    private static Signature verifier(PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return CryptoPrimitiveCache.verifier(ALGORITHM, CryptoUtils.bouncyCastle(), null, publicKey);
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new IllegalStateException("No parameters are set for ECDSA.", e);             // Unreachable: no parameters passed
+        }
+    }
+}
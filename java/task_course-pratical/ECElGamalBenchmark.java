@@ -0,0 +1,51 @@
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.function.Supplier;
+
+// EC-ElGamal per curve: keygen, encrypt, decrypt and ciphertext size. The mod-p counterpart lives in the
+// from-scratch ELGamal_manual project; the JMH suite (ManualElGamalBenchmark, ECElGamalBenchmark) runs both side by side.
+public class ECElGamalBenchmark {
+    private static final int ROUNDS = 200;
+
+    // Security level, curve, mod-p modulus of comparable strength (NIST SP 800-57)
+    private static final String[][] LEVELS = {
+            {"112", "secp224r1", "2048"},
+            {"128", "secp256k1", "3072"},
+            {"128", "secp256r1", "3072"},
+            {"192", "secp384r1", "7680"},
+    };
+
+    public static void main(String[] args) {
+        SecureRandom random = new SecureRandom();
+        System.out.println("Security \tCurve \t\tKeygen (ms) \tEncrypt (ms) \tDecrypt (ms) \tCiphertext (bytes) \tMod-p bits");
+
+        for (String[] level : LEVELS) {
+            String curve = level[1];
+            ECElGamalKeyPair keyPair = ECElGamalGenerator.generatorKeyPair(curve);
+            BigInteger message = new BigInteger(ECElGamalEncryptor.maxPlaintextBits(keyPair.get_domain().getCurve()), random);
+            ECPoint[] cipher = ECElGamalEncryptor.encrypt(message, keyPair.get_domain(), keyPair.get_publicKeyY());
+            double keygenMs = time(() -> ECElGamalGenerator.generatorKeyPair(curve), null);
+            double encryptMs = time(() -> ECElGamalEncryptor.encrypt(message, keyPair.get_domain(), keyPair.get_publicKeyY()), null);
+            double decryptMs = time(() -> ECElGamalEncryptor.decrypt(cipher, keyPair.get_privateKeyX()), message);
+            int bytes = ECElGamalEncryptor.toBytes(cipher).length;
+            System.out.printf("%s \t\t%s \t%.3f \t\t%.3f \t\t%.3f \t\t%d \t\t\t%s%n", level[0], curve, keygenMs, encryptMs, decryptMs, bytes, level[2]);
+        }
+    }
+
+    private static double time(Supplier<Object> operation, Object expected) {
+        // Warm-up so the JIT compiles the hot paths before measuring
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            Object result = operation.get();
+            if (expected != null && !expected.equals(result)) {
+                throw new IllegalStateException("Decryption mismatch.");
+            }
+        }
+        return (System.nanoTime() - start) / 1e6 / ROUNDS;
+    }
+}
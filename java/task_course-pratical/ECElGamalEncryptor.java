@@ -0,0 +1,103 @@
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// ElGamal on an elliptic curve: same scheme as the manual ELGamalEncryptor with g^k → k·G and m × y^k → M + k·Y.
+// The plaintext is first mapped to a curve point M (Koblitz encoding); a ciphertext is two compressed points,
+// 66 bytes on a 256-bit curve against 512 bytes for a 2048-bit group.
+public class ECElGamalEncryptor {
+    private static final int ENCODING_BITS = 8;                         // Up to 256 x candidates per message
+    private static final int ENCODING_TRIES = 1 << ENCODING_BITS;       // Each succeeds with probability ≈ 1/2
+    private static final CryptoMetrics.Operation ENCRYPT = CryptoMetrics.operation("encrypt", "ElGamal-EC");
+    private static final CryptoMetrics.Operation DECRYPT = CryptoMetrics.operation("decrypt", "ElGamal-EC");
+
+    public static ECPoint[] encrypt(BigInteger plaintext, ECDomainParameters domain, ECPoint y) {
+        return encryptPoint(encode(plaintext, domain.getCurve()), domain, y);
+    }
+
+    public static BigInteger decrypt(ECPoint[] ciphertext, BigInteger x) {
+        return decode(decryptPoint(ciphertext, x));
+    }
+
+    public static ECPoint[] encryptPoint(ECPoint message, ECDomainParameters domain, ECPoint y) {
+        long start = System.nanoTime();
+        BigInteger k = ECElGamalGenerator.randomScalar(domain.getN());
+        ECPoint a = ECElGamalGenerator.multiplyGenerator(domain, k);       // A = k·G
+        ECPoint b = message.add(y.multiply(k)).normalize();                // B = M + k·Y
+
+        ENCRYPT.record(domain.getCurve().getFieldSize(), start);
+        return new ECPoint[] {a, b};
+    }
+
+    public static ECPoint decryptPoint(ECPoint[] ciphertext, BigInteger x) {
+        long start = System.nanoTime();
+        ECPoint a = ciphertext[0];
+        ECPoint b = ciphertext[1];
+        if (a.isInfinity() || !a.isValid() || !b.isValid()) {
+            throw new IllegalArgumentException("Error: ciphertext is not a pair of curve points");
+        }
+
+        // Calculate S: S = x·A = x·k·G = k·Y
+        ECPoint s = a.multiply(x);
+
+        // Get original point: M = B − S
+        ECPoint message = b.subtract(s).normalize();
+        DECRYPT.record(a.getCurve().getFieldSize(), start);
+        return message;
+    }
+
+    // Koblitz encoding: the first x = m·256 + j (j < 256) for which x³ + ax + b is a square
+    public static ECPoint encode(BigInteger plaintext, ECCurve curve) {
+        if (plaintext.signum() < 0 || plaintext.bitLength() > maxPlaintextBits(curve)) {
+            throw new IllegalArgumentException("Error: message too large for the curve → " + plaintext.bitLength() + " bits");
+        }
+        BigInteger base = plaintext.shiftLeft(ENCODING_BITS);
+        for (int j = 0; j < ENCODING_TRIES; j++) {
+            ECFieldElement x = curve.fromBigInteger(base.add(BigInteger.valueOf(j)));
+            ECFieldElement rhs = x.square().add(curve.getA()).multiply(x).add(curve.getB());
+            ECFieldElement y = rhs.sqrt();
+            if (y != null) {
+                return curve.createPoint(x.toBigInteger(), y.toBigInteger());
+            }
+        }
+        // 256 non-residues in a row: probability 2^−256
+        throw new IllegalStateException("No curve point for the message.");
+    }
+
+    public static BigInteger decode(ECPoint point) {
+        if (point.isInfinity()) {
+            throw new IllegalArgumentException("Error: point at infinity encodes no message");
+        }
+        return point.normalize().getAffineXCoord().toBigInteger().shiftRight(ENCODING_BITS);
+    }
+
+    // Largest message such that m·256 + 255 stays below the field prime
+    public static int maxPlaintextBits(ECCurve curve) {
+        return curve.getField().getCharacteristic().bitLength() - ENCODING_BITS - 1;
+    }
+
+    // Wire form: A || B, both compressed (1 + field bytes each)
+    public static byte[] toBytes(ECPoint[] ciphertext) {
+        byte[] a = ciphertext[0].getEncoded(true);
+        byte[] b = ciphertext[1].getEncoded(true);
+        byte[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    public static ECPoint[] fromBytes(byte[] bytes, ECCurve curve) {
+        int width = 1 + (curve.getFieldSize() + 7) / 8;
+        if (bytes.length != 2 * width) {
+            throw new IllegalArgumentException("Error: not an EC-ElGamal ciphertext → " + bytes.length + " bytes");
+        }
+        // decodePoint rejects anything that is not on the curve
+        return new ECPoint[] {
+                curve.decodePoint(Arrays.copyOfRange(bytes, 0, width)),
+                curve.decodePoint(Arrays.copyOfRange(bytes, width, bytes.length))};
+    }
+
+}
@@ -0,0 +1,65 @@
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ECElGamalGenerator {
+    private static final SecureRandom random = new SecureRandom();
+    private static String curveName = "secp256k1"; // 256-bit curve ≈ 3072-bit mod-p group (128-bit security)
+    private static final Map<String, ECDomainParameters> DOMAINS = new ConcurrentHashMap<>();
+    private static final FixedPointCombMultiplier BASE_MULTIPLIER = new FixedPointCombMultiplier();
+    private static final CryptoMetrics.Operation KEYGEN = CryptoMetrics.operation("keygen", "ElGamal-EC");
+
+    public static ECElGamalKeyPair generatorKeyPair() {
+        return generatorKeyPair(curveName);
+    }
+
+    public static ECElGamalKeyPair generatorKeyPair(String curveName) {
+        long start = System.nanoTime();
+        ECDomainParameters domain = getDomain(curveName);
+
+        // Create Private key: x ∈ [1, n−1]
+        BigInteger x = randomScalar(domain.getN());
+
+        // Create Public key: Y = x·G (fixed-base comb, the table for G is built once per curve)
+        ECPoint y = multiplyGenerator(domain, x);
+
+        KEYGEN.record(domain.getCurve().getFieldSize(), start);
+        return new ECElGamalKeyPair(curveName, domain, y, x);
+    }
+
+    // One domain object per curve, so the precomputation Bouncy Castle attaches to G is shared by every key
+    public static ECDomainParameters getDomain(String curveName) {
+        return DOMAINS.computeIfAbsent(curveName, name -> {
+            X9ECParameters curve = CustomNamedCurves.getByName(name);
+            if (curve == null) {
+                throw new IllegalArgumentException("Error: unknown curve → " + name);
+            }
+            return new ECDomainParameters(curve);
+        });
+    }
+
+    public static ECPoint multiplyGenerator(ECDomainParameters domain, BigInteger k) {
+        return BASE_MULTIPLIER.multiply(domain.getG(), k).normalize();
+    }
+
+    public static BigInteger randomScalar(BigInteger n) {
+        // random k ∈ [1, n−1]
+        BigInteger k = new BigInteger(n.bitLength(), random);
+        while (k.signum() == 0 || k.compareTo(n) >= 0) {
+            k = new BigInteger(n.bitLength(), random);
+        }
+        return k;
+    }
+
+    public static String get_curveName() {
+        return curveName;
+    }
+
+}
@@ -0,0 +1,39 @@
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+
+// EC-ElGamal key: curve domain (G, n), private scalar x ∈ [1, n−1] and public point Y = x·G
+public class ECElGamalKeyPair {
+    private final String curveName;
+    private final ECDomainParameters domain;
+    private final ECPoint publicKeyY;
+    private final BigInteger privateKeyX;
+
+    public ECElGamalKeyPair(String curveName, ECDomainParameters domain, ECPoint y, BigInteger x) {
+        this.curveName = curveName;
+        this.domain = domain;
+        this.publicKeyY = y.normalize();
+        this.privateKeyX = x;
+    }
+
+    public String get_curveName() {
+        return curveName;
+    }
+    public ECDomainParameters get_domain() {
+        return domain;
+    }
+    public ECPoint get_generatorG() {
+        return domain.getG();
+    }
+    public BigInteger get_orderN() {
+        return domain.getN();
+    }
+    public ECPoint get_publicKeyY() {
+        return publicKeyY;
+    }
+    public BigInteger get_privateKeyX() {
+        return privateKeyX;
+    }
+
+}
@@ -0,0 +1,285 @@
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Encrypts files of any size with an RSA-OAEP + AES-GCM envelope.
+ * <p>
+ * A fresh 256-bit AES key is generated per file and wrapped with {@link RSAEncrypt} (RSA-OAEP with SHA-256).
+ * The payload is cut into fixed-size segments, each encrypted with AES-GCM under its own nonce
+ * ({@code noncePrefix || segmentIndex}). Segments are read and written through memory-mapped
+ * {@link FileChannel} regions and processed in parallel, so the file is never held on the heap.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ * "HGCM" | segmentSize (int) | plaintextLength (long) | noncePrefix (8 bytes) | wrappedKeyLength (int) | wrappedKey
+ * segment 0 ciphertext + tag | segment 1 ciphertext + tag | ...
+ * </pre>
+ * The whole header is authenticated as AAD of every segment, and the segment index is part of the nonce,
+ * so tampering with the header, reordering segments or truncating the file makes decryption fail.
+ *
+ * @since 1.0
+ */
+public class HybridFileEncryptor {
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;                        // 1 MiB per segment
+    private static final int MIN_SEGMENT_SIZE = 1 << 12;
+    private static final int MAX_SEGMENT_SIZE = 1 << 26;
+    private static final byte[] MAGIC = {'H', 'G', 'C', 'M'};
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int AES_KEY_BITS = 256;
+    private static final int TAG_BYTES = 16;
+    private static final int NONCE_PREFIX_BYTES = 8;
+    private static final int MAX_WRAPPED_KEY_BYTES = 2048;                         // Up to a 16384-bit RSA modulus
+
+    private static final ThreadLocal<Cipher> GCM = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(TRANSFORMATION + " is not available.", e);
+        }
+    });
+
+    private final RSAEncrypt rsaEncryptor = new RSAEncrypt();
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Encrypts {@code source} into {@code target} with {@link #DEFAULT_SEGMENT_SIZE} segments on the common pool.
+     *
+     * @param source the plaintext file; must not be {@code null}
+     * @param target the file to write the envelope to; created or truncated
+     * @param keyPair the key pair whose public key wraps the AES key; must not be {@code null}
+     *
+     * @throws IOException if a file cannot be read or written
+     * @throws GeneralSecurityException if key generation, key wrapping or AES-GCM fails
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * CryptoUtils cryptoUtils = new CryptoUtils();
+     * KeyPair rsaKeyPair = cryptoUtils.generateRSAKeyPair();
+     *
+     * HybridFileEncryptor fileEncryptor = new HybridFileEncryptor();
+     * fileEncryptor.encryptFile(Path.of("backup.tar"), Path.of("backup.tar.enc"), rsaKeyPair);
+     * fileEncryptor.decryptFile(Path.of("backup.tar.enc"), Path.of("restored.tar"), rsaKeyPair);
+     * }</pre>
+     */
+    public void encryptFile(Path source, Path target, KeyPair keyPair) throws IOException, GeneralSecurityException {
+        encryptFile(source, target, keyPair, DEFAULT_SEGMENT_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Encrypts {@code source} into {@code target}, processing segments of {@code segmentSize} bytes on {@code pool}.
+     *
+     * @param source the plaintext file; must not be {@code null}
+     * @param target the file to write the envelope to; created or truncated
+     * @param keyPair the key pair whose public key wraps the AES key; must not be {@code null}
+     * @param segmentSize plaintext bytes per segment, between 4 KiB and 64 MiB
+     * @param pool the executor that encrypts the segments
+     *
+     * @throws IllegalArgumentException if {@code segmentSize} is out of range
+     * @throws IOException if a file cannot be read or written
+     * @throws GeneralSecurityException if key generation, key wrapping or AES-GCM fails
+     *
+     * @since 1.0
+     */
+    public void encryptFile(Path source, Path target, KeyPair keyPair, int segmentSize, ExecutorService pool)
+            throws IOException, GeneralSecurityException {
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be between " + MIN_SEGMENT_SIZE + " and " + MAX_SEGMENT_SIZE + " bytes: " + segmentSize);
+        }
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(AES_KEY_BITS, random);
+        SecretKey fileKey = keyGenerator.generateKey();                            // Fresh AES key per file
+        byte[] noncePrefix = new byte[NONCE_PREFIX_BYTES];
+        random.nextBytes(noncePrefix);
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long plaintextLength = in.size();
+            byte[] wrappedKey = rsaEncryptor.encryptMessage(fileKey.getEncoded(), keyPair);   // RSA-OAEP-SHA256 key wrap
+            byte[] header = header(segmentSize, plaintextLength, noncePrefix, wrappedKey);
+
+            out.write(ByteBuffer.wrap(header), 0);
+            long segments = segmentCount(plaintextLength, segmentSize);
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (long index = 0; index < segments; index++) {
+                long offset = index * segmentSize;
+                int length = (int) Math.min(segmentSize, plaintextLength - offset);
+                long outOffset = header.length + index * (segmentSize + (long) TAG_BYTES);
+                long segmentIndex = index;
+                tasks.add(() -> {
+                    MappedByteBuffer plain = in.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                    MappedByteBuffer sealed = out.map(FileChannel.MapMode.READ_WRITE, outOffset, length + TAG_BYTES);
+                    Cipher cipher = GCM.get();
+                    cipher.init(Cipher.ENCRYPT_MODE, fileKey, nonce(noncePrefix, segmentIndex));
+                    cipher.updateAAD(header);
+                    cipher.doFinal(plain, sealed);                                 // Mapped in, mapped out: no heap copy
+                    return null;
+                });
+            }
+            runAll(tasks, pool);
+        }
+    }
+
+    /**
+     * Decrypts an envelope written by {@link #encryptFile} into {@code target} on the common pool.
+     *
+     * @param source the envelope file; must not be {@code null}
+     * @param target the file to write the plaintext to; created or truncated, and deleted if decryption fails
+     * @param keyPair the key pair whose private key unwraps the AES key; must not be {@code null}
+     *
+     * @throws IOException if a file cannot be read or written, or the envelope is malformed
+     * @throws AEADBadTagException if any segment or the header was modified
+     * @throws GeneralSecurityException if key unwrapping or AES-GCM fails
+     *
+     * @since 1.0
+     */
+    public void decryptFile(Path source, Path target, KeyPair keyPair) throws IOException, GeneralSecurityException {
+        decryptFile(source, target, keyPair, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decrypts an envelope written by {@link #encryptFile} into {@code target}, processing segments on {@code pool}.
+     *
+     * @param source the envelope file; must not be {@code null}
+     * @param target the file to write the plaintext to; created or truncated, and deleted if decryption fails
+     * @param keyPair the key pair whose private key unwraps the AES key; must not be {@code null}
+     * @param pool the executor that decrypts the segments
+     *
+     * @throws IOException if a file cannot be read or written, or the envelope is malformed
+     * @throws AEADBadTagException if any segment or the header was modified
+     * @throws GeneralSecurityException if key unwrapping or AES-GCM fails
+     *
+     * @since 1.0
+     */
+    public void decryptFile(Path source, Path target, KeyPair keyPair, ExecutorService pool)
+            throws IOException, GeneralSecurityException {
+        boolean done = false;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer fixed = readFully(in, 0, MAGIC.length + 4 + 8 + NONCE_PREFIX_BYTES + 4);
+            byte[] magic = new byte[MAGIC.length];
+            fixed.get(magic);
+            int segmentSize = fixed.getInt();
+            long plaintextLength = fixed.getLong();
+            byte[] noncePrefix = new byte[NONCE_PREFIX_BYTES];
+            fixed.get(noncePrefix);
+            int wrappedKeyLength = fixed.getInt();
+            if (!Arrays.equals(magic, MAGIC) || segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE
+                    || plaintextLength < 0 || wrappedKeyLength <= 0 || wrappedKeyLength > MAX_WRAPPED_KEY_BYTES) {
+                throw new IOException("Not a hybrid envelope or corrupted header.");
+            }
+            byte[] wrappedKey = new byte[wrappedKeyLength];
+            readFully(in, fixed.capacity(), wrappedKeyLength).get(wrappedKey);
+            byte[] header = header(segmentSize, plaintextLength, noncePrefix, wrappedKey);
+
+            long segments = segmentCount(plaintextLength, segmentSize);
+            if (in.size() != header.length + plaintextLength + segments * TAG_BYTES) {
+                throw new IOException("Truncated or extended envelope: " + in.size() + " bytes.");
+            }
+            SecretKey fileKey = new SecretKeySpec(rsaEncryptor.decryptMessage(wrappedKey, keyPair), "AES");
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (long index = 0; index < segments; index++) {
+                long offset = index * segmentSize;
+                int length = (int) Math.min(segmentSize, plaintextLength - offset);
+                long inOffset = header.length + index * (segmentSize + (long) TAG_BYTES);
+                long segmentIndex = index;
+                tasks.add(() -> {
+                    MappedByteBuffer sealed = in.map(FileChannel.MapMode.READ_ONLY, inOffset, length + TAG_BYTES);
+                    MappedByteBuffer plain = out.map(FileChannel.MapMode.READ_WRITE, offset, length);
+                    Cipher cipher = GCM.get();
+                    cipher.init(Cipher.DECRYPT_MODE, fileKey, nonce(noncePrefix, segmentIndex));
+                    cipher.updateAAD(header);
+                    cipher.doFinal(sealed, plain);                                 // Throws AEADBadTagException on tampering
+                    return null;
+                });
+            }
+            runAll(tasks, pool);
+            done = true;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(target);                                      // Never leave unauthenticated plaintext behind
+            }
+        }
+    }
+
+    private static byte[] header(int segmentSize, long plaintextLength, byte[] noncePrefix, byte[] wrappedKey) {
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 4 + 8 + NONCE_PREFIX_BYTES + 4 + wrappedKey.length);
+        header.put(MAGIC).putInt(segmentSize).putLong(plaintextLength).put(noncePrefix).putInt(wrappedKey.length).put(wrappedKey);
+        return header.array();
+    }
+
+    // At least one segment, so even an empty file carries an authentication tag
+    private static long segmentCount(long plaintextLength, int segmentSize) {
+        return Math.max(1, (plaintextLength + segmentSize - 1) / segmentSize);
+    }
+
+    // 96-bit GCM nonce: 64-bit random prefix || 32-bit segment index
+    private static GCMParameterSpec nonce(byte[] noncePrefix, long segmentIndex) {
+        if (segmentIndex > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Too many segments for a 32-bit counter: " + segmentIndex);
+        }
+        byte[] iv = ByteBuffer.allocate(NONCE_PREFIX_BYTES + 4).put(noncePrefix).putInt((int) segmentIndex).array();
+        return new GCMParameterSpec(TAG_BYTES * 8, iv);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Not a hybrid envelope or corrupted header.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void runAll(List<Callable<Void>> tasks, ExecutorService pool) throws IOException, GeneralSecurityException {
+        List<Future<Void>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing segments.", e);
+        } catch (ExecutionException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {   // Fork-join pools wrap task exceptions
+                if (cause instanceof GeneralSecurityException) throw (GeneralSecurityException) cause;
+                if (cause instanceof IOException) throw (IOException) cause;
+            }
+            throw new IOException("Segment processing failed.", e.getCause());
+        } finally {
+            for (Future<Void> future : futures) {
+                future.cancel(false);                                              // No interrupt: it would close the channels
+            }
+        }
+    }
+}
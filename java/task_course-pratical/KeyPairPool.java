@@ -0,0 +1,287 @@
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a bounded stock of pre-generated key pairs so callers never wait for key generation inline.
+ * <p>
+ * A 2048-bit RSA key pair takes hundreds of milliseconds to generate. Background daemon threads fill a queue up
+ * to the high watermark, then sleep until takes drain it below the low watermark. Taking a pair from a stocked
+ * pool is a queue poll (microseconds). When the pool runs dry, {@link #take()} waits for the next generated pair
+ * and the wait is recorded in the depletion and wait-time metrics.
+ * <p>
+ * Every pair is handed out once and the stock is cleared on {@link #close()}.
+ *
+ * @since 1.0
+ */
+public class KeyPairPool implements AutoCloseable {
+
+    /**
+     * Generates one key pair; called on the pool's background threads.
+     */
+    @FunctionalInterface
+    public interface Generator {
+        KeyPair generate() throws GeneralSecurityException;
+    }
+
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Generator generator;
+    private final BlockingQueue<KeyPair> pairs;
+    private final int lowWatermark;
+    private final ExecutorService workers;
+    private final Object refill = new Object();
+    private volatile boolean closed;
+
+    // Metrics
+    private final LongAdder takes = new LongAdder();                               // pairs handed out
+    private final LongAdder depletions = new LongAdder();                          // takes that found the pool empty
+    private final LongAdder waitNanos = new LongAdder();                           // caller time spent waiting on an empty pool
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder produced = new LongAdder();                            // pairs made by the workers
+    private final LongAdder generationNanos = new LongAdder();                     // worker time spent generating
+    private final LongAdder refills = new LongAdder();                             // refill cycles (pool fell below the low watermark)
+    private final LongAdder failures = new LongAdder();                            // generator exceptions
+
+    /**
+     * Creates a pool of 2048-bit RSA key pairs from {@link CryptoUtils#generateRSAKeyPair()}.
+     *
+     * @param highWatermark the number of pairs kept in stock, at least 1
+     * @param lowWatermark refilling starts when the stock falls below this, from 1 to {@code highWatermark}
+     * @param threads the number of background generator threads, at least 1
+     * @return a running pool; close it when done
+     *
+     * @throws IllegalArgumentException if the watermarks or thread count are invalid
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * try (KeyPairPool rsaPool = KeyPairPool.rsa(64, 16, 2)) {
+     *     KeyPair rsaKeyPair = rsaPool.take();                  // Microseconds while the pool is stocked
+     *     System.out.println(rsaPool.getDepletions() + " depletions, " + rsaPool.getMaxWaitNanos() / 1_000_000 + " ms max wait");
+     * }
+     * }</pre>
+     */
+    public static KeyPairPool rsa(int highWatermark, int lowWatermark, int threads) {
+        CryptoUtils cryptoUtils = new CryptoUtils();
+        return new KeyPairPool("rsa", cryptoUtils::generateRSAKeyPair, highWatermark, lowWatermark, threads);
+    }
+
+    /**
+     * Creates a pool of secp256k1 key pairs from {@link CryptoUtils#generateECDSAKeyPair()}.
+     *
+     * @param highWatermark the number of pairs kept in stock, at least 1
+     * @param lowWatermark refilling starts when the stock falls below this, from 1 to {@code highWatermark}
+     * @param threads the number of background generator threads, at least 1
+     * @return a running pool; close it when done
+     *
+     * @throws IllegalArgumentException if the watermarks or thread count are invalid
+     *
+     * @since 1.0
+     */
+    public static KeyPairPool ec(int highWatermark, int lowWatermark, int threads) {
+        CryptoUtils cryptoUtils = new CryptoUtils();
+        return new KeyPairPool("ec", cryptoUtils::generateECDSAKeyPair, highWatermark, lowWatermark, threads);
+    }
+
+    /**
+     * Creates a pool around any key pair generator and starts filling it.
+     *
+     * @param name a short name used for the worker threads
+     * @param generator produces one key pair per call; must be thread-safe when {@code threads > 1}
+     * @param highWatermark the number of pairs kept in stock, at least 1
+     * @param lowWatermark refilling starts when the stock falls below this, from 1 to {@code highWatermark}
+     * @param threads the number of background generator threads, at least 1
+     *
+     * @throws IllegalArgumentException if the watermarks or thread count are invalid
+     *
+     * @since 1.0
+     */
+    public KeyPairPool(String name, Generator generator, int highWatermark, int lowWatermark, int threads) {
+        // low = 0 would never trigger: the stock cannot fall below 0
+        if (lowWatermark < 1 || lowWatermark > highWatermark || threads < 1) {
+            throw new IllegalArgumentException("Need 1 <= low <= high and threads >= 1: low=" + lowWatermark + ", high=" + highWatermark + ", threads=" + threads);
+        }
+        this.generator = generator;
+        this.pairs = new ArrayBlockingQueue<>(highWatermark);
+        this.lowWatermark = lowWatermark;
+
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "keypair-pool-" + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);                                                // Never keeps the JVM alive
+            thread.setPriority(Thread.NORM_PRIORITY - 1);                          // Request threads go first
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::fill);
+        }
+    }
+
+    /**
+     * Takes a key pair, waiting for the background threads if the pool is empty.
+     *
+     * @return a key pair that was never handed out before
+     *
+     * @throws InterruptedException if interrupted while waiting on an empty pool
+     * @throws IllegalStateException if the pool is closed
+     *
+     * @since 1.0
+     */
+    public KeyPair take() throws InterruptedException {
+        KeyPair pair = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        if (pair == null) {
+            throw new IllegalStateException("Key pair pool was closed while waiting.");
+        }
+        return pair;
+    }
+
+    /**
+     * Takes a key pair, waiting at most {@code timeout} if the pool is empty.
+     *
+     * @param timeout how long to wait on an empty pool
+     * @param unit the unit of {@code timeout}
+     * @return a key pair that was never handed out before, or {@code null} if none came in time or the pool was closed meanwhile
+     *
+     * @throws InterruptedException if interrupted while waiting on an empty pool
+     * @throws IllegalStateException if the pool is closed
+     *
+     * @since 1.0
+     */
+    public KeyPair poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Key pair pool is closed.");
+        }
+        KeyPair pair = pairs.poll();
+        if (pair == null) {
+            depletions.increment();
+            signalRefill();                                                        // Wake sleeping workers right away
+            long start = System.nanoTime();
+            long budget = unit.toNanos(timeout);
+            while (pair == null && !closed) {                                      // Slices, so close() releases waiting callers
+                long remaining = budget - (System.nanoTime() - start);
+                if (remaining <= 0) break;
+                pair = pairs.poll(Math.min(remaining, WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+            }
+            long waited = System.nanoTime() - start;
+            waitNanos.add(waited);
+            maxWaitNanos.accumulate(waited);
+        }
+        if (pair != null) {
+            takes.increment();
+        }
+        if (pairs.size() < lowWatermark) {
+            signalRefill();
+        }
+        return pair;
+    }
+
+    private void signalRefill() {
+        synchronized (refill) {
+            refill.notifyAll();
+        }
+    }
+
+    private void fill() {
+        try {
+            while (!closed) {
+                // Top up to the high watermark
+                while (!closed && pairs.remainingCapacity() > 0) {
+                    long start = System.nanoTime();
+                    KeyPair pair;
+                    try {
+                        pair = generator.generate();
+                    } catch (GeneralSecurityException | RuntimeException e) {
+                        failures.increment();
+                        Thread.sleep(100);                                         // Do not spin on a broken generator
+                        continue;
+                    }
+                    generationNanos.add(System.nanoTime() - start);
+                    if (!pairs.offer(pair)) break;                                 // Another worker filled the last slot
+                    if (closed) {
+                        pairs.clear();                                             // Raced with close(): do not keep the pair
+                        break;
+                    }
+                    produced.increment();
+                }
+                // Full: sleep until takes drain the pool below the low watermark
+                synchronized (refill) {
+                    while (!closed && pairs.size() >= lowWatermark) {
+                        refill.wait();
+                    }
+                }
+                if (!closed) refills.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the background threads and discards the unused stock.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        signalRefill();
+        workers.shutdownNow();
+        pairs.clear();                                                             // Unused private keys must not outlive the pool
+    }
+
+    /**
+     * Waits for the background threads to stop after {@link #close()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if all threads stopped, {@code false} on timeout
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    public int getSize() {
+        return pairs.size();
+    }
+
+    public long getTakes() {
+        return takes.sum();
+    }
+
+    public long getDepletions() {
+        return depletions.sum();
+    }
+
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public long getProduced() {
+        return produced.sum();
+    }
+
+    public long getGenerationNanos() {
+        return generationNanos.sum();
+    }
+
+    public long getRefills() {
+        return refills.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+}
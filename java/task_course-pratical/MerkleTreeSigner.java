@@ -0,0 +1,437 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Signs very large files through a SHA-256 Merkle tree whose leaves are hashed in parallel.
+ * <p>
+ * The file is cut into fixed-size chunks; each chunk is mapped and hashed on the pool, the leaf hashes are
+ * folded into a root, and only a short statement about the root is signed with the existing
+ * {@link ECDSASignature} (EC keys) or {@link RSASignature} PSS (RSA keys) code. Hashing scales with the cores
+ * instead of being bound to one SHA-256 stream.
+ * <p>
+ * Tree layout (domain-separated as in RFC 6962):
+ * <pre>
+ * leaf = SHA-256(0x00 || chunk)
+ * node = SHA-256(0x01 || left || right)          - an odd last node is promoted to the next level unchanged
+ * signed statement = "MTS1" || chunkSize (int) || fileLength (long) || root
+ * </pre>
+ * A {@link ChunkProof} carries the sibling hashes from one leaf to the root, so a single chunk can be checked
+ * against the signature with {@link #verifyChunk} without re-hashing the rest of the file.
+ * <p>
+ * A tree signature is not a plain {@code SHA256withECDSA} signature over the file; both sides must use this class.
+ *
+ * @since 1.0
+ */
+public class MerkleTreeSigner {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;                          // 1 MiB per leaf
+    private static final byte[] MAGIC = {'M', 'T', 'S', '1'};
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+    private static final int HASH_LENGTH = 32;                                     // SHA-256
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    });
+
+    private static final ECDSASignature ECDSA_SIGNER = new ECDSASignature();
+    private static final RSASignature RSA_SIGNER = new RSASignature();
+
+    private final int chunkSize;
+    private final ExecutorService pool;
+
+    /**
+     * Creates a signer with {@link #DEFAULT_CHUNK_SIZE} chunks that hashes on the common pool.
+     *
+     * @since 1.0
+     */
+    public MerkleTreeSigner() {
+        this(DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a signer with the given chunk size and hashing pool.
+     * <p>
+     * The chunk size is part of the signed statement: a verifier reads it from the {@link ChunkProof}
+     * or must use the same value for whole-file verification.
+     *
+     * @param chunkSize bytes per leaf, at least 1
+     * @param pool the executor that hashes the chunks
+     *
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1
+     *
+     * @since 1.0
+     */
+    public MerkleTreeSigner(int chunkSize, ExecutorService pool) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1 byte: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Hashes the whole file behind {@code file} into a Merkle tree, hashing chunks in parallel.
+     *
+     * @param file the file to hash, open for reading; its position is not used nor changed
+     * @return the complete tree, from which the root and chunk proofs are taken
+     *
+     * @throws IOException if mapping the file fails or hashing is interrupted
+     *
+     * @since 1.0
+     */
+    public MerkleTree hash(FileChannel file) throws IOException {
+        long fileLength = file.size();
+        int leafCount = leafCount(fileLength, chunkSize);
+        List<Future<byte[]>> leaves = new ArrayList<>(leafCount);
+        byte[][] level = new byte[leafCount][];
+        try {
+            for (int index = 0; index < leafCount; index++) {
+                long offset = (long) index * chunkSize;
+                long length = Math.min(chunkSize, fileLength - offset);
+                leaves.add(pool.submit(() -> leafHash(file.map(FileChannel.MapMode.READ_ONLY, offset, length))));
+            }
+            for (int index = 0; index < leafCount; index++) {
+                level[index] = leaves.get(index).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing chunks.", e);
+        } catch (ExecutionException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {   // Fork-join pools wrap task exceptions
+                if (cause instanceof IOException) throw (IOException) cause;
+            }
+            throw new IOException("Chunk hashing failed.", e.getCause());
+        } finally {
+            for (Future<byte[]> leaf : leaves) {
+                leaf.cancel(false);                                                // No interrupt: it would close the channel
+            }
+        }
+
+        List<byte[][]> levels = new ArrayList<>();
+        levels.add(level);
+        while (level.length > 1) {
+            level = parentLevel(level);
+            levels.add(level);
+        }
+        return new MerkleTree(chunkSize, fileLength, levels);
+    }
+
+    /**
+     * Signs the Merkle root of {@code file}: ECDSA for EC keys, RSA-PSS for RSA keys.
+     *
+     * @param file the file to sign, open for reading; must not be {@code null}
+     * @param privateKey the EC or RSA private key; must not be {@code null}
+     * @return the signature over the tree statement
+     *
+     * @throws IOException if mapping the file fails
+     * @throws GeneralSecurityException if the key type is unsupported or signing fails
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * MerkleTreeSigner treeSigner = new MerkleTreeSigner();
+     * try (FileChannel channel = FileChannel.open(Path.of("disk.img"))) {
+     *     byte[] signature = treeSigner.sign(channel, ecKeyPair.getPrivate());
+     *     boolean isValid = treeSigner.verify(channel, signature, ecKeyPair.getPublic());
+     * }
+     * }</pre>
+     */
+    public byte[] sign(FileChannel file, PrivateKey privateKey) throws IOException, GeneralSecurityException {
+        return sign(hash(file), privateKey);
+    }
+
+    /**
+     * Signs the root of an already hashed tree: ECDSA for EC keys, RSA-PSS for RSA keys.
+     *
+     * @param tree the tree returned by {@link #hash}; must not be {@code null}
+     * @param privateKey the EC or RSA private key; must not be {@code null}
+     * @return the signature over the tree statement
+     *
+     * @throws GeneralSecurityException if the key type is unsupported or signing fails
+     *
+     * @since 1.0
+     */
+    public byte[] sign(MerkleTree tree, PrivateKey privateKey) throws GeneralSecurityException {
+        byte[] statement = statement(tree.chunkSize, tree.fileLength, tree.root());
+        if (isEC(privateKey)) {
+            return ECDSA_SIGNER.signature(statement, privateKey);
+        }
+        if ("RSA".equals(privateKey.getAlgorithm())) {
+            try {
+                return RSA_SIGNER.modernSignature(statement, privateKey);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SignatureException("RSA-PSS signing failed.", e);       // modernSignature declares Exception
+            }
+        }
+        throw new InvalidKeyException("Unsupported key algorithm for tree signing: " + privateKey.getAlgorithm());
+    }
+
+    /**
+     * Re-hashes {@code file} in parallel and verifies a tree signature made with this signer's chunk size.
+     *
+     * @param file the signed file, open for reading; must not be {@code null}
+     * @param signature the signature returned by {@link #sign}; must not be {@code null}
+     * @param publicKey the EC or RSA public key; must not be {@code null}
+     * @return {@code true} if the signature is valid for the file and key, {@code false} otherwise
+     *
+     * @throws IOException if mapping the file fails
+     * @throws GeneralSecurityException if the key type is unsupported or the signature is malformed
+     *
+     * @since 1.0
+     */
+    public boolean verify(FileChannel file, byte[] signature, PublicKey publicKey) throws IOException, GeneralSecurityException {
+        MerkleTree tree = hash(file);
+        return verifyStatement(statement(tree.chunkSize, tree.fileLength, tree.root()), signature, publicKey);
+    }
+
+    /**
+     * Verifies one chunk against a tree signature using only its proof, without reading the rest of the file.
+     *
+     * @param chunk the remaining bytes of this buffer are the chunk content; its position ends at its limit
+     * @param proof the proof for this chunk, taken from {@link MerkleTree#proof}; must not be {@code null}
+     * @param signature the tree signature returned by {@link #sign}; must not be {@code null}
+     * @param publicKey the EC or RSA public key; must not be {@code null}
+     * @return {@code true} if the chunk belongs to the signed file at the proof's index, {@code false} otherwise
+     *
+     * @throws GeneralSecurityException if the key type is unsupported or the signature is malformed
+     *
+     * @since 1.0
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * MerkleTreeSigner.MerkleTree tree = treeSigner.hash(channel);
+     * byte[] signature = treeSigner.sign(tree, ecKeyPair.getPrivate());
+     * MerkleTreeSigner.ChunkProof proof = tree.proof(42);
+     *
+     * ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, proof.chunkOffset(), proof.chunkLength());
+     * boolean isValid = MerkleTreeSigner.verifyChunk(chunk, proof, signature, ecKeyPair.getPublic());
+     * }</pre>
+     */
+    public static boolean verifyChunk(ByteBuffer chunk, ChunkProof proof, byte[] signature, PublicKey publicKey)
+            throws GeneralSecurityException {
+        if (!isWellFormed(proof) || chunk.remaining() != proof.chunkLength()) {
+            return false;
+        }
+        int index = proof.chunkIndex;
+        int size = leafCount(proof.fileLength, proof.chunkSize);
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        byte[] hash = leafHash(chunk);
+        int sibling = 0;
+        while (size > 1) {
+            boolean hasSibling = (index & 1) == 1 || index + 1 < size;
+            if (hasSibling && sibling == proof.siblings.length) {
+                return false;                                                      // Proof too short
+            }
+            if ((index & 1) == 1) {
+                hash = nodeHash(proof.siblings[sibling++], hash);
+            } else if (index + 1 < size) {
+                hash = nodeHash(hash, proof.siblings[sibling++]);
+            }                                                                      // else: promoted odd node
+            index >>= 1;
+            size = (size + 1) / 2;
+        }
+        if (sibling != proof.siblings.length) {
+            return false;
+        }
+        return verifyStatement(statement(proof.chunkSize, proof.fileLength, hash), signature, publicKey);
+    }
+
+    // Proof fields come from the network: reject anything leafCount, chunkLength or nodeHash cannot take
+    private static boolean isWellFormed(ChunkProof proof) {
+        if (proof.chunkSize <= 0 || proof.fileLength < 0) {
+            return false;
+        }
+        if (proof.fileLength / proof.chunkSize >= Integer.MAX_VALUE) {
+            return false;                                                          // Leaf count past int range
+        }
+        for (byte[] sibling : proof.siblings) {
+            if (sibling == null || sibling.length != HASH_LENGTH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean verifyStatement(byte[] statement, byte[] signature, PublicKey publicKey) throws GeneralSecurityException {
+        if (isEC(publicKey)) {
+            return ECDSA_SIGNER.verifySignature(statement, signature, publicKey);
+        }
+        if ("RSA".equals(publicKey.getAlgorithm())) {
+            return RSA_SIGNER.verifyModernSignature(statement, signature, publicKey);
+        }
+        throw new InvalidKeyException("Unsupported key algorithm for tree verification: " + publicKey.getAlgorithm());
+    }
+
+    private static boolean isEC(Key key) {
+        return "EC".equals(key.getAlgorithm()) || "ECDSA".equals(key.getAlgorithm());
+    }
+
+    private static byte[] statement(int chunkSize, long fileLength, byte[] root) {
+        return ByteBuffer.allocate(MAGIC.length + 4 + 8 + root.length)
+                .put(MAGIC).putInt(chunkSize).putLong(fileLength).put(root).array();
+    }
+
+    // At least one leaf, so an empty file still has a root
+    private static int leafCount(long fileLength, int chunkSize) {
+        long count = Math.max(1, fileLength / chunkSize + (fileLength % chunkSize == 0 ? 0 : 1));   // No overflow near Long.MAX_VALUE
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many chunks, use a larger chunk size: " + count);
+        }
+        return (int) count;
+    }
+
+    private static byte[] leafHash(ByteBuffer chunk) {
+        MessageDigest digest = SHA256.get();
+        digest.update(LEAF_PREFIX);
+        digest.update(chunk);
+        return digest.digest();
+    }
+
+    private static byte[] nodeHash(byte[] left, byte[] right) {
+        MessageDigest digest = SHA256.get();
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    private static byte[][] parentLevel(byte[][] level) {
+        byte[][] parents = new byte[(level.length + 1) / 2][];
+        for (int i = 0; i < parents.length; i++) {
+            int left = 2 * i;
+            parents[i] = left + 1 < level.length ? nodeHash(level[left], level[left + 1]) : level[left];
+        }
+        return parents;
+    }
+
+    /**
+     * A hashed file: every level of the tree, from the leaves up to the root.
+     *
+     * @since 1.0
+     */
+    public static final class MerkleTree {
+        private final int chunkSize;
+        private final long fileLength;
+        private final List<byte[][]> levels;
+
+        private MerkleTree(int chunkSize, long fileLength, List<byte[][]> levels) {
+            this.chunkSize = chunkSize;
+            this.fileLength = fileLength;
+            this.levels = levels;
+        }
+
+        /**
+         * Returns the 32-byte Merkle root.
+         *
+         * @return a copy of the root hash
+         */
+        public byte[] root() {
+            return levels.get(levels.size() - 1)[0].clone();
+        }
+
+        /**
+         * Returns the number of chunks (leaves).
+         *
+         * @return the leaf count, at least 1
+         */
+        public int chunkCount() {
+            return levels.get(0).length;
+        }
+
+        /**
+         * Builds the proof for one chunk: the sibling hashes on the path from its leaf to the root.
+         *
+         * @param chunkIndex the chunk to prove, from 0 to {@code chunkCount() - 1}
+         * @return the proof for that chunk
+         *
+         * @throws IndexOutOfBoundsException if {@code chunkIndex} is out of range
+         */
+        public ChunkProof proof(int chunkIndex) {
+            if (chunkIndex < 0 || chunkIndex >= chunkCount()) {
+                throw new IndexOutOfBoundsException("Chunk " + chunkIndex + " of " + chunkCount());
+            }
+            List<byte[]> siblings = new ArrayList<>();
+            int index = chunkIndex;
+            for (byte[][] level : levels.subList(0, levels.size() - 1)) {
+                int sibling = index ^ 1;
+                if (sibling < level.length) {
+                    siblings.add(level[sibling].clone());
+                }
+                index >>= 1;
+            }
+            return new ChunkProof(chunkIndex, chunkSize, fileLength, siblings.toArray(new byte[0][]));
+        }
+    }
+
+    /**
+     * Proof that one chunk belongs to a signed tree: its position, the tree shape and the sibling hashes.
+     *
+     * @since 1.0
+     */
+    public static final class ChunkProof {
+        private final int chunkIndex;
+        private final int chunkSize;
+        private final long fileLength;
+        private final byte[][] siblings;
+
+        /**
+         * Creates a proof, e.g. after receiving its fields over the network.
+         *
+         * @param chunkIndex the index of the proven chunk
+         * @param chunkSize the tree's chunk size
+         * @param fileLength the signed file length
+         * @param siblings the sibling hashes from the leaf level upwards, skipping promoted levels
+         */
+        public ChunkProof(int chunkIndex, int chunkSize, long fileLength, byte[][] siblings) {
+            this.chunkIndex = chunkIndex;
+            this.chunkSize = chunkSize;
+            this.fileLength = fileLength;
+            this.siblings = siblings.clone();
+        }
+
+        public int chunkIndex() {
+            return chunkIndex;
+        }
+
+        public int chunkSize() {
+            return chunkSize;
+        }
+
+        public long fileLength() {
+            return fileLength;
+        }
+
+        public long chunkOffset() {
+            return (long) chunkIndex * chunkSize;
+        }
+
+        public int chunkLength() {
+            return (int) Math.max(0, Math.min(chunkSize, fileLength - chunkOffset()));
+        }
+
+        public byte[][] siblings() {
+            byte[][] copy = new byte[siblings.length][];
+            for (int i = 0; i < siblings.length; i++) {
+                copy[i] = siblings[i].clone();
+            }
+            return copy;
+        }
+    }
+}
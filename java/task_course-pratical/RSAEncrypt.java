@@ -12,6 +12,10 @@ import java.util.Base64;
  * This class provides methods for encrypting and decrypting byte arrays using RSA encryption
  * with OAEP padding and SHA-256 hashing. It requires a KeyPair containing a public key for
  * encryption and a private key for decryption.
+ * <p>
+ * Initialized ciphers are reused per thread and key through {@link CryptoPrimitiveCache},
+ * so repeated calls with the same {@code KeyPair} skip {@code getInstance} and {@code init}.
+ * Latencies and failures are recorded in {@link CryptoMetrics}.
  */
 public class RSAEncrypt {
     private final String ALGORITHM = "RSA";
@@ -19,6 +23,8 @@ public class RSAEncrypt {
     private final String HASHINGALGORITHM = "SHA-256";
     private final String PADDINGSCHEME = "OAEPWith" + HASHINGALGORITHM + "AndMGF1Padding";
     private final String TRANSFORMATION = ALGORITHM + "/" + MODE + "/" + PADDINGSCHEME;     // "RSA/ECB/OAEPWithSHA-256AndMGF1Padding"
+    private static final CryptoMetrics.Operation ENCRYPT_METRICS = CryptoMetrics.operation("encrypt", "RSA/ECB/OAEPWithSHA-256AndMGF1Padding");
+    private static final CryptoMetrics.Operation DECRYPT_METRICS = CryptoMetrics.operation("decrypt", "RSA/ECB/OAEPWithSHA-256AndMGF1Padding");
 
     /**
      * Encrypts a byte array message using RSA with OAEP padding and SHA-256.
@@ -50,10 +56,17 @@ public class RSAEncrypt {
      * }</pre>
      */
     public byte[] encryptMessage(byte[] message, KeyPair keyPair) throws NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, NoSuchPaddingException, BadPaddingException {
-        Cipher encryptCipher = Cipher.getInstance(TRANSFORMATION);      // Creates the cipher object with default secure mode OAEP
-        encryptCipher.init(Cipher.ENCRYPT_MODE, keyPair.getPublic());   // Initializes the cipher with public key and encryption mode
-
-        return encryptCipher.doFinal(message);                          // Encrypts bytes of the message
+        Cipher encryptCipher = CryptoPrimitiveCache.cipher(TRANSFORMATION, Cipher.ENCRYPT_MODE, keyPair.getPublic());   // Cached OAEP cipher, initialized with public key and encryption mode
+        long start = System.nanoTime();
+        try {
+            byte[] result = encryptCipher.doFinal(message);             // Encrypts bytes of the message - resets the cipher for the next call
+            ENCRYPT_METRICS.record(CryptoMetrics.keyBits(keyPair.getPublic()), start);
+            return result;
+        } catch (IllegalBlockSizeException | BadPaddingException | RuntimeException e) {
+            CryptoPrimitiveCache.evict(TRANSFORMATION, Cipher.ENCRYPT_MODE, keyPair.getPublic());   // Never reuse a cipher left in an unknown state
+            ENCRYPT_METRICS.failure(CryptoMetrics.keyBits(keyPair.getPublic()));
+            throw e;
+        }
     }
 
     /**
@@ -85,9 +98,16 @@ public class RSAEncrypt {
      * }</pre>
      */
     public byte[] decryptMessage(byte[] cipherMessage, KeyPair keyPair) throws NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, NoSuchPaddingException, BadPaddingException {
-        Cipher decryptCipher = Cipher.getInstance(TRANSFORMATION);      // Creates the cipher object with default secure mode OAEP
-        decryptCipher.init(Cipher.DECRYPT_MODE, keyPair.getPrivate());  // Initializes the cipher with private key and decryption mode
-
-        return decryptCipher.doFinal(cipherMessage);                    // Decrypts bytes of message
+        Cipher decryptCipher = CryptoPrimitiveCache.cipher(TRANSFORMATION, Cipher.DECRYPT_MODE, keyPair.getPrivate());  // Cached OAEP cipher, initialized with private key and decryption mode
+        long start = System.nanoTime();
+        try {
+            byte[] result = decryptCipher.doFinal(cipherMessage);       // Decrypts bytes of message - resets the cipher for the next call
+            DECRYPT_METRICS.record(CryptoMetrics.keyBits(keyPair.getPrivate()), start);
+            return result;
+        } catch (IllegalBlockSizeException | BadPaddingException | RuntimeException e) {
+            CryptoPrimitiveCache.evict(TRANSFORMATION, Cipher.DECRYPT_MODE, keyPair.getPrivate());  // Never reuse a cipher left in an unknown state
+            DECRYPT_METRICS.failure(CryptoMetrics.keyBits(keyPair.getPrivate()));
+            throw e;
+        }
     }
 }
\ No newline at end of file
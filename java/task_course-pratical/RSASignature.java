@@ -0,0 +1,438 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.*;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+
+
+/**
+ * Represents a utility class for generating RSA digital signatures using different padding schemes.
+ * <p>
+ * This class provides methods for creating digital signatures with both traditional PKCS1v15
+ * and modern PSS (Probabilistic Signature Scheme) padding techniques.
+ * <p>
+ * Initialized {@link Signature} objects are reused per thread and key through {@link CryptoPrimitiveCache}.
+ * Large messages can be signed and verified from an {@link InputStream}, a {@link FileChannel} or a
+ * {@link ByteBuffer} with constant memory (see {@link SignatureStreams}).
+ */
+public class RSASignature {
+    private static final String PKCS1_ALGORITHM = "SHA256withRSA";
+    private static final String PSS_ALGORITHM = "RSASSA-PSS";
+    private static final PSSParameterSpec PSS_SPECIFICATION = new PSSParameterSpec(    // Shared: the cache matches parameters by identity
+            "SHA-256",                  // principal hash
+            "MGF1",                     // mask function
+            MGF1ParameterSpec.SHA256,
+            32,                  // salt length (size to SHA256)
+            1);                         // default trailerField
+
+    /**
+     * Generates a digital signature for the given message using RSA with PKCS#1 v1.5 padding.
+     *
+     * @param message The data to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing; must be valid.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws NoSuchAlgorithmException If the RSA signature algorithm is not available.
+     * @throws InvalidKeyException If the private key is invalid.
+     * @throws SignatureException If an error occurs during signing.
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * RSASignature rsaSigner = new RSASignature();
+     * byte[] signature = rsaSigner.defaultSignature(dataBytes, rsaKeyPair.getPrivate());
+     * }</pre>
+     */
+    public byte[] defaultSignature(byte[] message, PrivateKey privateKey) throws Exception {
+        return signWithPKCS1v15(message, privateKey);                           // Signature with default signature padding
+    }
+    /**
+     * Generates a digital signature for the given message using RSA with PSS padding.
+     * </p>
+     * @param message The byte array of the message to be signed; must not be {@code null}.
+     * @param privateKey The private key used to create the digital signature; must be a valid RSA private key.
+     * @return A byte array representing the digital signature for the given message.
+     *
+     * @throws Exception If an error occurs during the signature generation - such as issues with the provided key or cryptographic operations.
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * RSASignature rsaSigner = new RSASignature();
+     * byte[] pkcs1Sign = rsaSigner.modernSignature(messageBytes, rsaKeyPair.getPrivate());
+     */
+    public byte[] modernSignature(byte[] message, PrivateKey privateKey) throws Exception {
+        return signWithPSS(message, privateKey);                                // Signature with modern signature padding
+    }
+
+    /**
+     * Generates a PKCS#1 v1.5 signature over everything left in {@code message}, read in 64 KiB steps.
+     * <p>
+     * The stream is read to its end but not closed. Memory use does not depend on the message size.
+     * </p>
+     * @param message The stream to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws IOException If reading the stream fails.
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * try (InputStream in = Files.newInputStream(Path.of("release.zip"))) {
+     *     byte[] signature = rsaSigner.defaultSignature(in, rsaKeyPair.getPrivate());
+     * }
+     * }</pre>
+     */
+    public byte[] defaultSignature(InputStream message, PrivateKey privateKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.sign(pkcs1Signer(privateKey), privateKey, SignatureStreams.of(message));
+    }
+
+    /**
+     * Generates a PKCS#1 v1.5 signature over the whole file behind {@code message}, mapped in 64 MiB windows.
+     * <p>
+     * The channel position is not used nor changed.
+     * </p>
+     * @param message The file to sign, open for reading; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws IOException If mapping the file fails.
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     */
+    public byte[] defaultSignature(FileChannel message, PrivateKey privateKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.sign(pkcs1Signer(privateKey), privateKey, SignatureStreams.of(message));
+    }
+
+    /**
+     * Generates a PKCS#1 v1.5 signature over the remaining bytes of {@code message}, which may be a heap,
+     * direct or mapped buffer. The buffer position ends at its limit.
+     *
+     * @param message The bytes to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     */
+    public byte[] defaultSignature(ByteBuffer message, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.sign(pkcs1Signer(privateKey), privateKey, message);
+    }
+
+    /**
+     * Generates a PSS signature over everything left in {@code message}, read in 64 KiB steps.
+     * <p>
+     * The stream is read to its end but not closed. Memory use does not depend on the message size.
+     * </p>
+     * @param message The stream to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws IOException If reading the stream fails.
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public byte[] modernSignature(InputStream message, PrivateKey privateKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.sign(pssSigner(privateKey), privateKey, SignatureStreams.of(message));
+    }
+
+    /**
+     * Generates a PSS signature over the whole file behind {@code message}, mapped in 64 MiB windows.
+     * <p>
+     * The channel position is not used nor changed.
+     * </p>
+     * @param message The file to sign, open for reading; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws IOException If mapping the file fails.
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public byte[] modernSignature(FileChannel message, PrivateKey privateKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.sign(pssSigner(privateKey), privateKey, SignatureStreams.of(message));
+    }
+
+    /**
+     * Generates a PSS signature over the remaining bytes of {@code message}, which may be a heap,
+     * direct or mapped buffer. The buffer position ends at its limit.
+     *
+     * @param message The bytes to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public byte[] modernSignature(ByteBuffer message, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.sign(pssSigner(privateKey), privateKey, message);
+    }
+
+    /**
+     * Verifies a PKCS#1 v1.5 signature created by {@link #defaultSignature(byte[], PrivateKey)} or one of its overloads.
+     *
+     * @param message The signed data; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     *
+     * <p><b>Example usage:</b></p>
+     * <pre>{@code
+     * RSASignature rsaSigner = new RSASignature();
+     * byte[] signature = rsaSigner.defaultSignature(dataBytes, rsaKeyPair.getPrivate());
+     * boolean isValid = rsaSigner.verifyDefaultSignature(dataBytes, signature, rsaKeyPair.getPublic());
+     * }</pre>
+     */
+    public boolean verifyDefaultSignature(byte[] message, byte[] signature, PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.verify(pkcs1Verifier(publicKey), publicKey, ByteBuffer.wrap(message), signature);
+    }
+
+    /**
+     * Verifies a PKCS#1 v1.5 signature like {@link #verifyDefaultSignature(byte[], byte[], PublicKey)}, skipping the
+     * modPow when this exact (key, message, signature) already verified within the cache's TTL.
+     *
+     * @param message The signed data; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @param cache Remembers successful verifications; must not be {@code null}.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     */
+    public boolean verifyDefaultSignature(byte[] message, byte[] signature, PublicKey publicKey, VerificationCache cache) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        try {
+            return cache.verify(PKCS1_ALGORITHM, publicKey, message, signature, () -> verifyDefaultSignature(message, signature, publicKey));
+        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+            throw e;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unexpected verification failure.", e);         // Unreachable: the verifier throws only the above
+        }
+    }
+
+    /**
+     * Verifies a PKCS#1 v1.5 signature over everything left in {@code message}; the stream is not closed.
+     *
+     * @param message The signed stream; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws IOException If reading the stream fails.
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     */
+    public boolean verifyDefaultSignature(InputStream message, byte[] signature, PublicKey publicKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.verify(pkcs1Verifier(publicKey), publicKey, SignatureStreams.of(message), signature);
+    }
+
+    /**
+     * Verifies a PKCS#1 v1.5 signature over the whole file behind {@code message}, mapped in 64 MiB windows.
+     *
+     * @param message The signed file, open for reading; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws IOException If mapping the file fails.
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     */
+    public boolean verifyDefaultSignature(FileChannel message, byte[] signature, PublicKey publicKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.verify(pkcs1Verifier(publicKey), publicKey, SignatureStreams.of(message), signature);
+    }
+
+    /**
+     * Verifies a PKCS#1 v1.5 signature over the remaining bytes of {@code message}; its position ends at its limit.
+     *
+     * @param message The signed bytes (heap, direct or mapped buffer); must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     */
+    public boolean verifyDefaultSignature(ByteBuffer message, byte[] signature, PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.verify(pkcs1Verifier(publicKey), publicKey, message, signature);
+    }
+
+    /**
+     * Verifies a PSS signature created by {@link #modernSignature(byte[], PrivateKey)} or one of its overloads.
+     *
+     * @param message The signed data; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public boolean verifyModernSignature(byte[] message, byte[] signature, PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.verify(pssVerifier(publicKey), publicKey, ByteBuffer.wrap(message), signature);
+    }
+
+    /**
+     * Verifies a PSS signature like {@link #verifyModernSignature(byte[], byte[], PublicKey)}, skipping the
+     * modPow when this exact (key, message, signature) already verified within the cache's TTL.
+     *
+     * @param message The signed data; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @param cache Remembers successful verifications; must not be {@code null}.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public boolean verifyModernSignature(byte[] message, byte[] signature, PublicKey publicKey, VerificationCache cache) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        try {
+            return cache.verify(PSS_ALGORITHM, publicKey, message, signature, () -> verifyModernSignature(message, signature, publicKey));
+        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException | InvalidAlgorithmParameterException e) {
+            throw e;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unexpected verification failure.", e);         // Unreachable: the verifier throws only the above
+        }
+    }
+
+    /**
+     * Verifies a PSS signature over everything left in {@code message}; the stream is not closed.
+     *
+     * @param message The signed stream; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws IOException If reading the stream fails.
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public boolean verifyModernSignature(InputStream message, byte[] signature, PublicKey publicKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.verify(pssVerifier(publicKey), publicKey, SignatureStreams.of(message), signature);
+    }
+
+    /**
+     * Verifies a PSS signature over the whole file behind {@code message}, mapped in 64 MiB windows.
+     *
+     * @param message The signed file, open for reading; must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws IOException If mapping the file fails.
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public boolean verifyModernSignature(FileChannel message, byte[] signature, PublicKey publicKey) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.verify(pssVerifier(publicKey), publicKey, SignatureStreams.of(message), signature);
+    }
+
+    /**
+     * Verifies a PSS signature over the remaining bytes of {@code message}; its position ends at its limit.
+     *
+     * @param message The signed bytes (heap, direct or mapped buffer); must not be {@code null}.
+     * @param signature The signature to check; must not be {@code null}.
+     * @param publicKey The RSA public key matching the signing key.
+     * @return {@code true} if the signature is valid for the message and key, {@code false} otherwise.
+     *
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided public key is invalid.
+     * @throws SignatureException If the signature is malformed.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    public boolean verifyModernSignature(ByteBuffer message, byte[] signature, PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.verify(pssVerifier(publicKey), publicKey, message, signature);
+    }
+
+    /**
+     * Signs the given message using RSA with SHA-256 and PKCS#1 v1.5 padding.
+     * <p>
+     * This method creates a {@link Signature} instance with the algorithm
+     * "SHA256withRSA" (PKCS#1 v1.5 padding) and uses the provided private key
+     * to generate the digital signature.
+     * </p>
+     * @param message The data to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws NoSuchAlgorithmException If the "SHA256withRSA" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     */
+    private byte[] signWithPKCS1v15(byte[] message, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return SignatureStreams.sign(pkcs1Signer(privateKey), privateKey, ByteBuffer.wrap(message));   // Digital Signature
+    }
+
+    /**
+     * Signs the given message using RSA with Probabilistic Signature Scheme (PSS) padding.
+     * <p>
+     * Creates a {@link Signature} instance with algorithm "RSASSA-PSS" and sets
+     * specific PSS parameters: SHA-256 as hash function, MGF1 with SHA-256 as mask,
+     * a salt length of 32 bytes, and default trailer field.
+     * Uses the provided private key to generate the digital signature.
+     * </p>
+     *
+     * @param message The data to sign; must not be {@code null}.
+     * @param privateKey The RSA private key used for signing.
+     * @return A byte array containing the digital signature.
+     *
+     * @throws NoSuchAlgorithmException If the "RSASSA-PSS" algorithm is not available.
+     * @throws InvalidKeyException If the provided private key is invalid.
+     * @throws SignatureException If an error occurs during the signing process.
+     * @throws InvalidAlgorithmParameterException If the PSS parameters are invalid.
+     */
+    private byte[] signWithPSS(byte[] message, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, InvalidAlgorithmParameterException {
+        return SignatureStreams.sign(pssSigner(privateKey), privateKey, ByteBuffer.wrap(message));     // Digital Signature
+    }
+
+    private static Signature pkcs1Signer(PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return CryptoPrimitiveCache.signer(PKCS1_ALGORITHM, null, null, privateKey);       // Cached Signature object with RSA & traditional padding (PKCS1v15)
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new IllegalStateException("No parameters are set for PKCS#1 v1.5.", e);      // Unreachable: no parameters passed
+        }
+    }
+
+    private static Signature pkcs1Verifier(PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return CryptoPrimitiveCache.verifier(PKCS1_ALGORITHM, null, null, publicKey);
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new IllegalStateException("No parameters are set for PKCS#1 v1.5.", e);      // Unreachable: no parameters passed
+        }
+    }
+
+    private static Signature pssSigner(PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
+        return CryptoPrimitiveCache.signer(PSS_ALGORITHM, null, PSS_SPECIFICATION, privateKey);   // Cached Signature object with RSA & PSS padding
+    }
+
+    private static Signature pssVerifier(PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
+        return CryptoPrimitiveCache.verifier(PSS_ALGORITHM, null, PSS_SPECIFICATION, publicKey);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.Key;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * Feeds large messages into a {@link Signature} with constant memory.
+ * <p>
+ * Shared by {@link RSASignature} and {@link ECDSASignature}: streams are read through one reusable buffer,
+ * files are mapped in windows of {@value #MAP_WINDOW_BYTES} bytes and byte buffers (heap, direct or mapped)
+ * are passed to {@code Signature.update(ByteBuffer)} as they are.
+ * <p>
+ * Every signature and verification of both classes ends here, so this is also where their latencies
+ * are recorded in {@link CryptoMetrics}.
+ */
+final class SignatureStreams {
+    static final int BUFFER_BYTES = 1 << 16;                                      // 64 KiB read buffer for streams
+    static final long MAP_WINDOW_BYTES = 1L << 26;                                // 64 MiB mapped per step
+
+    /**
+     * A message source that pushes its bytes into a {@code Signature}.
+     */
+    @FunctionalInterface
+    interface Source {
+        void feed(Signature signature) throws IOException, SignatureException;
+    }
+
+    private SignatureStreams() {
+    }
+
+    /**
+     * Reads {@code in} until end of stream; the stream is not closed.
+     */
+    static Source of(InputStream in) {
+        return signature -> {
+            byte[] buffer = new byte[BUFFER_BYTES];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                signature.update(buffer, 0, read);
+            }
+        };
+    }
+
+    /**
+     * Maps the whole file, from byte 0 to {@code size()}; the channel position is left unchanged.
+     */
+    static Source of(FileChannel channel) {
+        return signature -> {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW_BYTES) {
+                signature.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW_BYTES, size - position)));
+            }
+        };
+    }
+
+    /**
+     * Consumes the remaining bytes of {@code buffer}; its position ends at its limit.
+     */
+    static Source of(ByteBuffer buffer) {
+        return signature -> signature.update(buffer);
+    }
+
+    static byte[] sign(Signature signature, Key key, ByteBuffer message) throws SignatureException {
+        try {
+            return sign(signature, key, of(message));
+        } catch (IOException e) {
+            throw new IllegalStateException("A byte buffer cannot fail with I/O.", e);  // Unreachable
+        }
+    }
+
+    static boolean verify(Signature signature, Key key, ByteBuffer message, byte[] signatureBytes) throws SignatureException {
+        try {
+            return verify(signature, key, of(message), signatureBytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("A byte buffer cannot fail with I/O.", e);  // Unreachable
+        }
+    }
+
+    /**
+     * Signs everything {@code message} provides and records the latency under ("sign", algorithm, key size).
+     */
+    static byte[] sign(Signature signature, Key key, Source message) throws IOException, SignatureException {
+        CryptoMetrics.Operation operation = CryptoMetrics.operation("sign", signature.getAlgorithm());
+        long start = System.nanoTime();
+        try {
+            message.feed(signature);
+            byte[] signed = signature.sign();                                     // Resets the object for the next call
+            operation.record(CryptoMetrics.keyBits(key), start);
+            return signed;
+        } catch (IOException | SignatureException | RuntimeException e) {
+            CryptoPrimitiveCache.evict(signature);                                // Never reuse a half-fed signature
+            operation.failure(CryptoMetrics.keyBits(key));
+            throw e;
+        }
+    }
+
+    /**
+     * Verifies against everything {@code message} provides and records the latency under ("verify", algorithm, key size).
+     * A signature that does not match is a normal result, not a failure.
+     */
+    static boolean verify(Signature signature, Key key, Source message, byte[] signatureBytes) throws IOException, SignatureException {
+        CryptoMetrics.Operation operation = CryptoMetrics.operation("verify", signature.getAlgorithm());
+        long start = System.nanoTime();
+        try {
+            message.feed(signature);
+            boolean valid = signature.verify(signatureBytes);                     // Resets the object for the next call
+            operation.record(CryptoMetrics.keyBits(key), start);
+            return valid;
+        } catch (IOException | SignatureException | RuntimeException e) {
+            CryptoPrimitiveCache.evict(signature);                                // Never reuse a half-fed signature
+            operation.failure(CryptoMetrics.keyBits(key));
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers signatures that verified, so a replayed (key, message, signature) triple costs a hash and a lookup
+ * instead of an elliptic-curve or modPow verification.
+ * <p>
+ * Entries are keyed by one SHA-256 over the algorithm name, the encoded public key, the signature and the message;
+ * a hit therefore requires all four to match. Only successful verifications are stored: an invalid signature is
+ * checked again every time, so a flood of bad signatures cannot fill or poison the cache.
+ * <p>
+ * The cache is bounded twice: by size, through a {@link StripedLruCache} that drops the least recently used entries,
+ * and by time, since every entry expires {@code ttl} after it was stored (expired entries are dropped when next
+ * looked up). Call {@link #clear()} after revoking a key to forget its signatures at once.
+ *
+ * @since 1.0
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>{@code
+ * VerificationCache verificationCache = new VerificationCache(100_000, Duration.ofMinutes(10));
+ * ECDSASignature ecdsaSigner = new ECDSASignature();
+ * boolean isValid = ecdsaSigner.verifySignature(dataBytes, signature, ecKeyPair.getPublic(), verificationCache);
+ * System.out.println(verificationCache.getHits() + " replays skipped");
+ * }</pre>
+ */
+public class VerificationCache {
+
+    /**
+     * The verification to run on a miss.
+     */
+    @FunctionalInterface
+    public interface Verifier {
+        boolean verify() throws GeneralSecurityException;
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform.", e);
+        }
+    });
+
+    private final StripedLruCache<Fingerprint, Long> entries;                     // Fingerprint -> expiry, System.nanoTime()
+    private final long ttlNanos;
+
+    // Metrics
+    private final LongAdder hits = new LongAdder();                                // replays answered from the cache
+    private final LongAdder misses = new LongAdder();                              // lookups that ran the verification
+    private final LongAdder expirations = new LongAdder();                         // entries found past their TTL
+    private final LongAdder stored = new LongAdder();                              // successful verifications stored
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of remembered signatures, at least 1
+     * @param ttl how long a verified signature is remembered; must be positive
+     *
+     * @throws IllegalArgumentException if {@code capacity} is less than 1 or {@code ttl} is not positive
+     *
+     * @since 1.0
+     */
+    public VerificationCache(int capacity, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive: " + ttl);
+        }
+        this.entries = new StripedLruCache<>(capacity);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns {@code true} if this exact triple verified within the TTL; otherwise runs {@code verifier}
+     * and remembers the triple if it succeeds.
+     *
+     * @param algorithm the signature algorithm, e.g. {@code "SHA256withECDSA"}; part of the key, so a PSS result is never reused for PKCS#1
+     * @param publicKey the verifying key; must not be {@code null}
+     * @param message the signed message; must not be {@code null}
+     * @param signature the signature; must not be {@code null}
+     * @param verifier the real verification, run on a miss
+     * @return the cached or computed result
+     *
+     * @throws GeneralSecurityException if the verifier throws; nothing is stored then
+     *
+     * @since 1.0
+     */
+    public boolean verify(String algorithm, PublicKey publicKey, byte[] message, byte[] signature, Verifier verifier)
+            throws GeneralSecurityException {
+        Fingerprint fingerprint = fingerprint(algorithm, publicKey, message, signature);
+        Long expiry = entries.get(fingerprint);
+        long now = System.nanoTime();
+        if (expiry != null) {
+            if (now - expiry < 0) {
+                hits.increment();
+                return true;
+            }
+            entries.remove(fingerprint);
+            expirations.increment();
+        }
+        misses.increment();
+        boolean valid = verifier.verify();
+        if (valid) {
+            entries.put(fingerprint, System.nanoTime() + ttlNanos);
+            stored.increment();
+        }
+        return valid;
+    }
+
+    /**
+     * Forgets every remembered signature; the statistics are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getStored() {
+        return stored.sum();
+    }
+
+    public long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    // Lengths before the variable fields keep the encoding unambiguous; the message goes last, unprefixed
+    private static Fingerprint fingerprint(String algorithm, PublicKey publicKey, byte[] message, byte[] signature) {
+        MessageDigest digest = SHA256.get();
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        byte[] key = publicKey.getEncoded();
+        digest.update(ByteBuffer.allocate(12).putInt(name.length).putInt(key.length).putInt(signature.length).array());
+        digest.update(name);
+        digest.update(key);
+        digest.update(signature);
+        digest.update(message);
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+        return new Fingerprint(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    // The 256-bit hash as four longs: cheap equals, and the first word is already uniformly distributed
+    private static final class Fingerprint {
+        private final long a;
+        private final long b;
+        private final long c;
+        private final long d;
+
+        Fingerprint(long a, long b, long c, long d) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Fingerprint)) return false;
+            Fingerprint that = (Fingerprint) other;
+            return a == that.a && b == that.b && c == that.c && d == that.d;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (a ^ (a >>> 32));
+        }
+    }
+}